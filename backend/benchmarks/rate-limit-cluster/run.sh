@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Sends requests round-robin to several backends sharing one database and counts how many got through.
+#   ./run.sh [requests] [url...]
+# e.g. ./run.sh 60 http://localhost:8081 http://localhost:8082
+set -euo pipefail
+
+REQUESTS=${1:-60}
+shift || true
+if [ $# -gt 0 ]; then
+    URLS=("$@")
+else
+    URLS=(http://localhost:8081 http://localhost:8082)
+fi
+
+# POST /api/auth/** is limited to 10:60; the body is rejected, but the limiter counts the request first
+allowed=0
+limited=0
+for i in $(seq 0 $((REQUESTS - 1))); do
+    url=${URLS[$((i % ${#URLS[@]}))]}
+    code=$(curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+        -d '{}' "$url/api/auth/login")
+    if [ "$code" = "429" ]; then
+        limited=$((limited + 1))
+    else
+        allowed=$((allowed + 1))
+    fi
+done
+
+echo "instances=${#URLS[@]} requests=$REQUESTS allowed=$allowed limited=$limited"
@@ -0,0 +1,7 @@
+-- Baseline: catalog transaction as the table owner, policies bypassed, no app.user_id
+\set uid random(1, 1000)
+\set pid random(1, 100000)
+BEGIN;
+SELECT id, title, current_price FROM product WHERE status = 'active' ORDER BY end_time LIMIT 20;
+SELECT id, title, current_price, end_time FROM product WHERE id = :pid;
+COMMIT;
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Transactions per second of a catalog transaction with RLS off and with each way of propagating app.user_id.
+# Connection settings come from the usual PG* environment variables (PGUSER = table owner);
+# the RLS runs log in as RLS_USER (see setup.sql).
+#   ./run.sh [clients] [seconds]
+set -euo pipefail
+
+CLIENTS=${1:-8}
+SECONDS_PER_RUN=${2:-60}
+RLS_USER=${RLS_USER:-auction_rls}
+DIR=$(cd "$(dirname "$0")" && pwd)
+
+run() {
+    local label=$1 script=$2
+    shift 2
+    tps=$(env "$@" pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$SECONDS_PER_RUN" -f "$DIR/$script.sql" \
+        | grep -m1 '^tps' | awk '{print $3}')
+    printf '%-22s tps=%s\n' "$label" "$tps"
+}
+
+run "rls off"                no_rls
+run "rls on, set local x2"   set_local  PGUSER="$RLS_USER" PGPASSWORD="${RLS_PASSWORD:-auction_rls}"
+run "rls on, set_config"     set_config PGUSER="$RLS_USER" PGPASSWORD="${RLS_PASSWORD:-auction_rls}"
+run "rls on, sticky"         sticky     PGUSER="$RLS_USER" PGPASSWORD="${RLS_PASSWORD:-auction_rls}" \
+    PGOPTIONS="-c app.user_id=42"
@@ -0,0 +1,8 @@
+-- After, checkout by a different user than the connection's last one: one session-level set_config
+\set uid random(1, 1000)
+\set pid random(1, 100000)
+SELECT set_config('app.user_id', :'uid', false);
+BEGIN;
+SELECT id, title, current_price FROM product WHERE status = 'active' ORDER BY end_time LIMIT 20;
+SELECT id, title, current_price, end_time FROM product WHERE id = :pid;
+COMMIT;
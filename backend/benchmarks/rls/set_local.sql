@@ -0,0 +1,9 @@
+-- Before: SET LOCAL on checkout, the catalog queries, SET LOCAL again in beforeCommit
+\set uid random(1, 1000)
+\set pid random(1, 100000)
+BEGIN;
+SET LOCAL app.user_id = :uid;
+SELECT id, title, current_price FROM product WHERE status = 'active' ORDER BY end_time LIMIT 20;
+SELECT id, title, current_price, end_time FROM product WHERE id = :pid;
+SET LOCAL app.user_id = :uid;
+COMMIT;
@@ -0,0 +1,10 @@
+-- Login role that is subject to the RLS policies (not the table owner, no BYPASSRLS)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT FROM pg_roles WHERE rolname = 'auction_rls') THEN
+        CREATE ROLE auction_rls LOGIN PASSWORD 'auction_rls';
+    END IF;
+END
+$$;
+GRANT USAGE ON SCHEMA public TO auction_rls;
+GRANT SELECT ON ALL TABLES IN SCHEMA public TO auction_rls;
@@ -0,0 +1,6 @@
+-- After, connection already carries the user (run.sh sets app.user_id through PGOPTIONS): no extra statement
+\set pid random(1, 100000)
+BEGIN;
+SELECT id, title, current_price FROM product WHERE status = 'active' ORDER BY end_time LIMIT 20;
+SELECT id, title, current_price, end_time FROM product WHERE id = :pid;
+COMMIT;
@@ -0,0 +1,7 @@
+-- Today's search predicate (before V5): LOWER(unaccent(title)) LIKE '%kw%', ordered by end_time
+\set k random(1, 4)
+SELECT p.id
+FROM product p
+WHERE LOWER(unaccent(p.title)) LIKE LOWER(CONCAT('%', unaccent((ARRAY['dong ho', 'canon', 'chinh hang', 'tai nghe'])[:k]), '%'))
+ORDER BY p.end_time DESC
+LIMIT 10;
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Compares p50/p99 latency of the legacy LIKE search against the trigram-indexed variants.
+# Connection settings come from the usual PG* environment variables.
+#   ./run.sh [clients] [seconds]
+set -euo pipefail
+
+CLIENTS=${1:-8}
+SECONDS_PER_RUN=${2:-60}
+DIR=$(cd "$(dirname "$0")" && pwd)
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+for script in legacy trigram relevance; do
+    (cd "$WORK" && pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$SECONDS_PER_RUN" -l \
+        --log-prefix="$script" -f "$DIR/$script.sql" > "$script.out")
+    # pgbench per-transaction log: 3rd column is latency in microseconds
+    cat "$WORK"/"$script".* | awk '{print $3}' | sort -n > "$WORK/$script.lat"
+    total=$(wc -l < "$WORK/$script.lat")
+    p50=$(awk -v n="$total" 'NR == int(n * 0.50) + 1 {print $1 / 1000; exit}' "$WORK/$script.lat")
+    p99=$(awk -v n="$total" 'NR == int(n * 0.99) + 1 {print $1 / 1000; exit}' "$WORK/$script.lat")
+    tps=$(grep -m1 '^tps' "$WORK/$script.out" | awk '{print $3}')
+    printf '%-10s tx=%-8s tps=%-10s p50=%8.2f ms  p99=%8.2f ms\n' "$script" "$total" "$tps" "$p50" "$p99"
+done
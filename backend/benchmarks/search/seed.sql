@@ -0,0 +1,33 @@
+-- Seeds :rows products (default 1,000,000) with accented Vietnamese/English titles into a
+-- database migrated by Flyway (V1..V5). Use a scratch database, never a real one.
+--   psql -v rows=1000000 -f seed.sql
+
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+
+INSERT INTO "user" (email, password_hash, status, created_at)
+VALUES ('bench-seller@example.com', 'x', 'active', NOW())
+ON CONFLICT (email) DO NOTHING;
+
+INSERT INTO category (name, slug)
+VALUES ('Benchmark', 'benchmark')
+ON CONFLICT (slug) DO NOTHING;
+
+WITH words AS (
+    SELECT ARRAY['Điện thoại', 'Máy ảnh', 'Đồng hồ', 'Laptop', 'Tai nghe', 'Bàn phím', 'Giày', 'Áo khoác',
+                 'vintage', 'cổ điển', 'chính hãng', 'mới', 'Samsung', 'Apple', 'Sony', 'Canon', 'Nikon',
+                 'Rolex', 'Seiko', 'Logitech', 'Nike', 'Adidas', 'xanh', 'đen', 'trắng', 'bạc'] AS w
+)
+INSERT INTO product (seller_id, category_id, title, status, start_price, current_price, bid_increment,
+                     start_time, end_time, auto_extension_enabled, created_at)
+SELECT (SELECT id FROM "user" WHERE email = 'bench-seller@example.com'),
+       (SELECT id FROM category WHERE slug = 'benchmark'),
+       w[1 + (g * 7) % 26] || ' ' || w[1 + (g * 13) % 26] || ' ' || w[1 + (g * 31) % 26] || ' #' || g,
+       CASE WHEN g % 10 = 0 THEN 'ENDED' ELSE 'ACTIVE' END,
+       100, 100 + (g % 500), 10,
+       NOW() - INTERVAL '1 day', NOW() + (g % 10000) * INTERVAL '1 minute', TRUE, NOW()
+FROM generate_series(1, :rows) AS g, words;
+
+ANALYZE product;
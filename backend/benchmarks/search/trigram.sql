@@ -0,0 +1,7 @@
+-- Indexed predicate used by ProductRepository.searchProducts after V5
+\set k random(1, 4)
+SELECT p.id
+FROM product p
+WHERE lower(f_unaccent(p.title)) LIKE '%' || lower(f_unaccent((ARRAY['dong ho', 'canon', 'chinh hang', 'tai nghe'])[:k])) || '%'
+ORDER BY p.end_time DESC
+LIMIT 10;
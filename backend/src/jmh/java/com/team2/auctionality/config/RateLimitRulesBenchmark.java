@@ -0,0 +1,117 @@
+package com.team2.auctionality.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request limit resolution in RateLimitFilter: the previous ant-matching + string parsing
+ * vs the compiled RateLimitRules, over a mix of request paths and methods (application.yml limits).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RateLimitRulesBenchmark {
+
+    private static final String[][] REQUESTS = {
+            {"/api/products/123", "GET"},
+            {"/api/products/search", "GET"},
+            {"/api/bids/products/42", "POST"},
+            {"/api/auth/login", "POST"},
+            {"/api/users/me/watchlist", "GET"},
+            {"/api/orders/7", "PUT"},
+            {"/actuator/prometheus", "GET"},
+            {"/api/categories", "GET"},
+    };
+
+    private RateLimitProperties properties;
+    private RateLimitRules rules;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Setup
+    public void setUp() {
+        properties = new RateLimitProperties();
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        endpoints.put("/api/auth/**", "10:60");
+        endpoints.put("/api/bids/**", "50:60");
+        endpoints.put("/api/products/**", "200:60");
+        properties.setEndpoints(endpoints);
+        properties.setMethods(Map.of("POST", "50:60", "PUT", "30:60", "DELETE", "20:60", "GET", "200:60"));
+        rules = RateLimitRules.compile(properties);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void antMatcher(Blackhole blackhole) {
+        for (String[] request : REQUESTS) {
+            if (isExcludedPath(request[0])) {
+                blackhole.consume(true);
+                continue;
+            }
+            blackhole.consume(getRateLimitConfig(request[0], request[1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void compiledRules(Blackhole blackhole) {
+        for (String[] request : REQUESTS) {
+            PathContainer path = PathContainer.parsePath(request[0]);
+            if (rules.isExcluded(path)) {
+                blackhole.consume(true);
+                continue;
+            }
+            blackhole.consume(rules.resolve(path, request[1]));
+        }
+    }
+
+    // Previous RateLimitFilter implementation (logging removed)
+
+    private boolean isExcludedPath(String path) {
+        for (String excludePattern : properties.getExcludePaths()) {
+            if (pathMatcher.match(excludePattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] getRateLimitConfig(String path, String method) {
+        String endpointLimit = properties.getEndpoints().entrySet().stream()
+                .filter(entry -> pathMatcher.match(entry.getKey(), path))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        if (endpointLimit != null) {
+            return parseConfig(endpointLimit);
+        }
+        String methodLimit = properties.getMethods().get(method);
+        if (methodLimit != null) {
+            return parseConfig(methodLimit);
+        }
+        return parseConfig(properties.getDefaultLimit());
+    }
+
+    private int[] parseConfig(String config) {
+        String[] parts = config.split(":");
+        return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+}
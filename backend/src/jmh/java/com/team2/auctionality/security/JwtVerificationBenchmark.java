@@ -0,0 +1,80 @@
+package com.team2.auctionality.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work JwtAuthenticationFilter does per request: the previous four full parses
+ * (extractEmail, validateToken = subject + expiry, extractUserId), each with a fresh key and parser,
+ * vs one JwtService.verify with the cached parser plus validateToken on the result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-32-bytes-long";
+
+    private JwtService jwtService;
+    private AuthenticatedUser principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 900_000, 604_800_000);
+        Set<GrantedAuthority> authorities = Set.of(
+                new SimpleGrantedAuthority("ROLE_BUYER"),
+                new SimpleGrantedAuthority("BID_PLACE"));
+        principal = new AuthenticatedUser(42, "buyer@example.com", true, authorities);
+        token = jwtService.generateAccessToken(principal, principal.id());
+    }
+
+    @Benchmark
+    public void parsePerClaim(Blackhole blackhole) {
+        String email = legacyParse(token).getSubject();
+        boolean valid = legacyParse(token).getSubject().equals(principal.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+        Integer userId = legacyParse(token).get("userId", Integer.class);
+        blackhole.consume(email);
+        blackhole.consume(valid);
+        blackhole.consume(userId);
+    }
+
+    @Benchmark
+    public void verifyOnce(Blackhole blackhole) {
+        VerifiedToken verified = jwtService.verify(token);
+        blackhole.consume(jwtService.validateToken(verified, principal));
+        blackhole.consume(verified.userId());
+    }
+
+    // Former JwtService.extractAllClaims
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,104 @@
+package com.team2.auctionality.service;
+
+import com.team2.auctionality.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate-limit decision throughput with 8 threads: GCRA (RateLimitService) vs the previous
+ * queue-of-timestamps limiter, with every thread on the same key and with many distinct keys.
+ * Run with -prof gc to compare allocation per decision.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RateLimitServiceBenchmark {
+
+    private static final int MAX_REQUESTS = 200;
+    private static final int WINDOW_SECONDS = 60;
+
+    @Param({"10000"})
+    private int distinctKeys;
+
+    private RateLimitService gcra;
+    private QueueRateLimiter queue;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        gcra = new RateLimitService(new RateLimitProperties(), new SimpleMeterRegistry(), Optional.empty());
+        queue = new QueueRateLimiter();
+        keys = new String[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public boolean gcraSameKey() {
+        return gcra.isAllowed("user:42", MAX_REQUESTS, WINDOW_SECONDS);
+    }
+
+    @Benchmark
+    public boolean queueSameKey() {
+        return queue.isAllowed("user:42", MAX_REQUESTS, WINDOW_SECONDS);
+    }
+
+    @Benchmark
+    public boolean gcraDistinctKeys() {
+        return gcra.isAllowed(randomKey(), MAX_REQUESTS, WINDOW_SECONDS);
+    }
+
+    @Benchmark
+    public boolean queueDistinctKeys() {
+        return queue.isAllowed(randomKey(), MAX_REQUESTS, WINDOW_SECONDS);
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    /**
+     * The previous RateLimitService algorithm (logging removed)
+     */
+    static class QueueRateLimiter {
+        private final ConcurrentHashMap<String, ConcurrentLinkedQueue<Long>> rateLimitStore = new ConcurrentHashMap<>();
+
+        boolean isAllowed(String identifier, int maxRequests, int windowSeconds) {
+            long now = Instant.now().getEpochSecond();
+            long windowStart = now - windowSeconds;
+            ConcurrentLinkedQueue<Long> requestTimestamps = rateLimitStore.computeIfAbsent(
+                    identifier,
+                    k -> new ConcurrentLinkedQueue<>()
+            );
+            requestTimestamps.removeIf(timestamp -> timestamp < windowStart);
+            if (requestTimestamps.size() >= maxRequests) {
+                return false;
+            }
+            requestTimestamps.offer(now);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.team2.auctionality.sse;
+
+import com.team2.auctionality.dto.BidHistoryDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out cost of one bid-history event against subscriber count:
+ * serializing per subscriber (old SseEmitterManager) vs serializing once and copying the bytes.
+ * Each subscriber is a reusable byte sink standing in for its response stream.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SseFanOutBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int subscribers;
+
+    @Param({"20", "200"})
+    private int historySize;
+
+    private JsonMapper jsonMapper;
+    private List<BidHistoryDto> histories;
+    private ByteArrayOutputStream[] sinks;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        histories = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            histories.add(BidHistoryDto.builder()
+                    .bidderId(i)
+                    .bidderName("**** Nguyen " + i)
+                    .amount(1_000_000f + i * 50_000f)
+                    .createdAt(new Date())
+                    .build());
+        }
+        sinks = new ByteArrayOutputStream[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            sinks[i] = new ByteArrayOutputStream(historySize * 128);
+        }
+    }
+
+    @Benchmark
+    public int serializePerSubscriber() {
+        int written = 0;
+        for (ByteArrayOutputStream sink : sinks) {
+            sink.reset();
+            jsonMapper.writeValue(sink, histories);
+            written += sink.size();
+        }
+        return written;
+    }
+
+    @Benchmark
+    public int serializeOnce() {
+        byte[] json = jsonMapper.writeValueAsBytes(histories);
+        int written = 0;
+        for (ByteArrayOutputStream sink : sinks) {
+            sink.reset();
+            sink.writeBytes(json);
+            written += sink.size();
+        }
+        return written;
+    }
+}
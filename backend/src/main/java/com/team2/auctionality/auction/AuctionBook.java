@@ -0,0 +1,102 @@
+package com.team2.auctionality.auction;
+
+import com.team2.auctionality.model.AutoBidConfig;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory book of proxy (auto-bid) max prices for a single product.
+ * Entries are kept sorted by maxPrice desc, createdAt asc, so the leader and the
+ * runner-up needed for second-price calculation are always the first two entries.
+ * A book is never modified once built: a config change produces a new book (see {@link #with}),
+ * so a transaction can work on its own copy while other threads keep reading the committed one.
+ */
+public class AuctionBook {
+
+    private static final Comparator<ProxyBid> ORDER = Comparator
+            .comparingDouble(ProxyBid::maxPrice).reversed()
+            .thenComparingLong(ProxyBid::createdAt)
+            .thenComparing(ProxyBid::configId);
+
+    private final Integer productId;
+    private final NavigableSet<ProxyBid> entries = new TreeSet<>(ORDER);
+    private final Map<Integer, ProxyBid> byBidder = new HashMap<>();
+    // product.auction_book_version the entries correspond to
+    private final long version;
+
+    AuctionBook(Integer productId, long version, List<AutoBidConfig> configs) {
+        this(productId, version, configs.stream().map(ProxyBid::of).toList());
+    }
+
+    private AuctionBook(Integer productId, long version, Collection<ProxyBid> entries) {
+        this.productId = productId;
+        this.version = version;
+        entries.forEach(this::put);
+    }
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Copy of this book with one proxy bid inserted (or replacing the bidder's previous one), at newVersion
+     */
+    AuctionBook with(ProxyBid entry, long newVersion) {
+        AuctionBook copy = new AuctionBook(productId, newVersion, entries);
+        copy.put(entry);
+        return copy;
+    }
+
+    /**
+     * Insert a new proxy bid or replace the existing one of the same bidder (construction only)
+     */
+    private void put(ProxyBid entry) {
+        ProxyBid previous = byBidder.put(entry.bidderId(), entry);
+        if (previous != null) {
+            entries.remove(previous);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Leader and runner-up of the book; either may be null
+     */
+    public Top top() {
+        Iterator<ProxyBid> it = entries.iterator();
+        ProxyBid leader = it.hasNext() ? it.next() : null;
+        ProxyBid runnerUp = it.hasNext() ? it.next() : null;
+        return new Top(leader, runnerUp);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public record Top(ProxyBid leader, ProxyBid runnerUp) {
+        public boolean isEmpty() {
+            return leader == null;
+        }
+    }
+
+    public record ProxyBid(Integer configId, Integer bidderId, float maxPrice, long createdAt) {
+        static ProxyBid of(AutoBidConfig config) {
+            return new ProxyBid(
+                    config.getId(),
+                    config.getBidderId(),
+                    config.getMaxPrice(),
+                    config.getCreatedAt() != null ? config.getCreatedAt().getTime() : Long.MAX_VALUE
+            );
+        }
+    }
+}
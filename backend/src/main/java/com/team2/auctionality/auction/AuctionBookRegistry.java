@@ -0,0 +1,136 @@
+package com.team2.auctionality.auction;
+
+import com.team2.auctionality.model.AutoBidConfig;
+import com.team2.auctionality.repository.AutoBidConfigRepository;
+import com.team2.auctionality.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident per-product auction books.
+ * A book is loaded from auto_bid_config and then kept up to date incrementally: every config
+ * change goes through {@link #save(AutoBidConfig)}, which writes to the database and stamps the
+ * product with a new auction_book_version. The change is applied to a copy of the committed book
+ * that only the current transaction sees (get returns it without a query); the copy replaces the
+ * committed book once the transaction commits, and is dropped on rollback.
+ * Outside of such a transaction the book's version is checked against the product row before use,
+ * so changes made by other instances cause a reload instead of a stale leader / runner-up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionBookRegistry {
+
+    private final AutoBidConfigRepository autoBidConfigRepository;
+    private final ProductRepository productRepository;
+
+    // Committed books, shared by all threads
+    private final Map<Integer, AuctionBook> books = new ConcurrentHashMap<>();
+
+    // Transaction resource key of the books changed by the current transaction
+    private final Object pendingKey = new Object();
+
+    /**
+     * Book as seen by the current transaction
+     */
+    public AuctionBook get(Integer productId) {
+        AuctionBook pending = pendingBooks().get(productId);
+        if (pending != null) {
+            return pending;
+        }
+
+        long version = Objects.requireNonNullElse(productRepository.findAuctionBookVersion(productId), 0L);
+        AuctionBook book = books.get(productId);
+        if (book != null && book.getVersion() == version) {
+            return book;
+        }
+        return load(productId, version);
+    }
+
+    /**
+     * Persist an auto-bid config and stamp the product with a new book version. The change is visible
+     * to get in this transaction right away and to everyone else after commit.
+     */
+    public AutoBidConfig save(AutoBidConfig config) {
+        AutoBidConfig saved = autoBidConfigRepository.save(config);
+        Integer productId = saved.getProductId();
+        // Also locks the product row, so config changes of a product are applied in version order
+        ProductRepository.AuctionBookVersionChange change = productRepository.bumpAuctionBookVersion(productId);
+
+        Map<Integer, AuctionBook> pending = pendingBooks();
+        AuctionBook base = pending.get(productId);
+        if (base == null) {
+            base = books.get(productId);
+        }
+        AuctionBook changed = base != null && base.getVersion() == change.getPrevious()
+                ? base.with(AuctionBook.ProxyBid.of(saved), change.getCurrent())
+                // Missed a change (or never loaded): read the configs, this transaction's write included
+                : new AuctionBook(productId, change.getCurrent(), autoBidConfigRepository.findByProductId(productId));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.put(productId, changed);
+        } else {
+            publish(changed);
+        }
+        return saved;
+    }
+
+    public void evict(Integer productId) {
+        pendingBooks().remove(productId);
+        books.remove(productId);
+    }
+
+    private AuctionBook load(Integer productId, long version) {
+        log.debug("Loading auction book for product {} at version {}", productId, version);
+        AuctionBook loaded = new AuctionBook(productId, version, autoBidConfigRepository.findByProductId(productId));
+        // A version read inside a transaction that changed configs is handled by the pending book,
+        // so this one is committed state and can be shared
+        publish(loaded);
+        return loaded;
+    }
+
+    /**
+     * Keep whichever book is newer: versions of a product only grow, in commit order
+     */
+    private void publish(AuctionBook book) {
+        books.merge(book.getProductId(), book,
+                (current, candidate) -> candidate.getVersion() >= current.getVersion() ? candidate : current);
+    }
+
+    /**
+     * Books changed by the current transaction, bound to it on first use; empty outside a transaction
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Integer, AuctionBook> pendingBooks() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        Map<Integer, AuctionBook> pending = (Map<Integer, AuctionBook>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending != null) {
+            return pending;
+        }
+
+        Map<Integer, AuctionBook> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(pendingKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created.values().forEach(AuctionBookRegistry.this::publish);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+            }
+        });
+        return created;
+    }
+}
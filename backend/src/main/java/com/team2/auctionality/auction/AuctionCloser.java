@@ -0,0 +1,141 @@
+package com.team2.auctionality.auction;
+
+import com.team2.auctionality.repository.ProductRepository;
+import com.team2.auctionality.service.AuctionEndMonitoringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes auctions at their deadline.
+ * Holds the end time of every active product in a delay queue; a dispatcher thread wakes up
+ * when the earliest deadline is due and finalizes that product in its own transaction on the
+ * product's BidSequencer lane, so closing never races a bid or buy-now command for the same product.
+ * Rescheduling (e.g. anti-sniping extensions) only replaces the product's current deadline,
+ * stale queue entries are skipped when they come due.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuctionCloser implements DisposableBean {
+
+    private final ProductRepository productRepository;
+    private final AuctionEndMonitoringService auctionEndMonitoringService;
+    private final AuctionFinalizationMetrics metrics;
+    private final BidSequencer bidSequencer;
+
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    private final Map<Integer, Long> deadlines = new ConcurrentHashMap<>();
+    private volatile Thread dispatcher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        productRepository.findActiveDeadlines()
+                .forEach(deadline -> schedule(deadline.getId(), deadline.getEndTime()));
+        log.info("Auction closer tracking {} active auctions", deadlines.size());
+
+        dispatcher = new Thread(this::dispatch, "auction-closer");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Track (or move) the deadline of a product
+     */
+    public void schedule(Integer productId, LocalDateTime endTime) {
+        if (productId == null || endTime == null) {
+            return;
+        }
+        long dueAt = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Long previous = deadlines.put(productId, dueAt);
+        if (previous == null || previous != dueAt) {
+            queue.put(new Deadline(productId, dueAt));
+        }
+    }
+
+    /**
+     * Schedule once the current transaction commits, so a rolled back change never moves the deadline
+     */
+    public void scheduleAfterCommit(Integer productId, LocalDateTime endTime) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(productId, endTime);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(productId, endTime);
+            }
+        });
+    }
+
+    /**
+     * Stop tracking a product that was closed by other means (buy now, take down)
+     */
+    public void cancel(Integer productId) {
+        deadlines.remove(productId);
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Deadline due;
+            try {
+                due = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            // Skip entries superseded by a reschedule or cancel
+            if (!deadlines.remove(due.productId(), due.dueAt())) {
+                continue;
+            }
+
+            metrics.recordClaim(LocalDateTime.ofInstant(Instant.ofEpochMilli(due.dueAt()), ZoneId.systemDefault()));
+            try {
+                boolean closed = bidSequencer.execute(due.productId(), () ->
+                        metrics.timeFinalization(() -> auctionEndMonitoringService.finalizeAuction(due.productId())));
+                if (closed) {
+                    log.info("Closed auction {} ({} ms after deadline)",
+                            due.productId(), System.currentTimeMillis() - due.dueAt());
+                }
+            } catch (Exception e) {
+                log.error("Error finalizing auction {}: {}", due.productId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    private record Deadline(Integer productId, long dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((Deadline) other).dueAt);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.team2.auctionality.auction;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the auction finalization pipeline:
+ * claim lag (deadline to claim), claimed batch size and per-auction finalization latency.
+ */
+@Component
+public class AuctionFinalizationMetrics {
+
+    private final Timer claimLag;
+    private final DistributionSummary batchSize;
+    private final Timer finalizationLatency;
+
+    public AuctionFinalizationMetrics(MeterRegistry registry) {
+        this.claimLag = Timer.builder("auction.finalization.claim.lag")
+                .description("Time between an auction's end time and the moment it is claimed for finalization")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("auction.finalization.batch.size")
+                .description("Number of expired auctions claimed per batch")
+                .register(registry);
+        this.finalizationLatency = Timer.builder("auction.finalization.latency")
+                .description("Duration of a single auction finalization transaction")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordClaim(LocalDateTime endTime) {
+        Duration lag = Duration.between(endTime, LocalDateTime.now());
+        claimLag.record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void recordBatch(int size) {
+        batchSize.record(size);
+    }
+
+    public <T> T timeFinalization(Supplier<T> finalization) {
+        return finalizationLatency.record(finalization);
+    }
+}
@@ -8,7 +8,6 @@ import com.team2.auctionality.enums.ProductStatus;
 import com.team2.auctionality.mapper.BidMapper;
 import com.team2.auctionality.model.*;
 import com.team2.auctionality.rabbitmq.BidEventPublisher;
-import com.team2.auctionality.repository.AutoBidConfigRepository;
 import com.team2.auctionality.repository.BidRepository;
 import com.team2.auctionality.repository.ProductRepository;
 import com.team2.auctionality.service.*;
@@ -22,9 +21,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.Date;
-import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -32,7 +29,7 @@ import java.util.Optional;
 @Slf4j
 public class AutoBidEngine {
 
-    private final AutoBidConfigRepository autoBidConfigRepository;
+    private final AuctionBookRegistry auctionBookRegistry;
     private final ProductRepository productRepository;
     private final BidRepository bidRepository;
     private final UserService userService;
@@ -42,6 +39,7 @@ public class AutoBidEngine {
     private final PaymentService paymentService;
     private final BidEventPublisher bidEventPublisher;
     private final EmailService emailService;
+    private final AuctionCloser auctionCloser;
 
     @Value("${app.frontend.base-url}")
     private String frontendBaseUrl;
@@ -52,28 +50,21 @@ public class AutoBidEngine {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
-        List<AutoBidConfig> bidders =
-                autoBidConfigRepository.findByProductId(productId);
+        // leader and runner-up come from the resident book (maxPrice desc, createdAt asc)
+        AuctionBook.Top top = auctionBookRegistry.get(productId).top();
 
-        if (bidders.isEmpty()) {
+        if (top.isEmpty()) {
             return new AutoBidResult(false, null);
         }
 
-        // sort: maxPrice desc, createdAt asc
-        bidders.sort(
-                Comparator
-                        .comparing(AutoBidConfig::getMaxPrice).reversed()
-                        .thenComparing(AutoBidConfig::getCreatedAt)
-        );
-
-        AutoBidConfig winnerConfig = bidders.get(0);
+        AuctionBook.ProxyBid winnerConfig = top.leader();
         Float newPrice;
 
-        if (bidders.size() == 1) {
+        if (top.runnerUp() == null) {
             newPrice = product.getStartPrice();
         } else {
-            AutoBidConfig second = bidders.get(1);
-            newPrice = Math.min(second.getMaxPrice() + product.getBidIncrement(), winnerConfig.getMaxPrice());
+            AuctionBook.ProxyBid second = top.runnerUp();
+            newPrice = Math.min(second.maxPrice() + product.getBidIncrement(), winnerConfig.maxPrice());
 
         }
         Bid bid = null;
@@ -109,7 +100,7 @@ public class AutoBidEngine {
             // generate bid history
             bid = Bid.builder()
                     .product(product)
-                    .bidder(userService.getUserById(winnerConfig.getBidderId()))
+                    .bidder(userService.getUserById(winnerConfig.bidderId()))
                     .amount(newPrice)
                     .isAutoBid(true)
                     .createdAt(new Date())
@@ -117,6 +108,10 @@ public class AutoBidEngine {
 
             bidRepository.save(bid);
 
+            // keep the listing snapshot in step with the bid table
+            productService.applyLeadingBid(product, bid);
+            productRepository.save(product);
+
             // Extract email data before transaction ends (to avoid lazy loading issues in callback)
             final String productUrl = frontendBaseUrl + "/products/" + productId;
             final String productTitle = product.getTitle();
@@ -128,6 +123,8 @@ public class AutoBidEngine {
             final Float bidAmount = bid.getAmount();
             final Integer bidId = bid.getId();
             final Integer newBidderId = bid.getBidder().getId();
+            final BidHistoryDto appendedBid = BidMapper.toDto(bid);
+            final long bidSequence = product.getBidCount();
 
             // Publish price update and bid history via RabbitMQ after transaction commit
             final Float finalPreviousPrice = previousPrice;
@@ -146,17 +143,13 @@ public class AutoBidEngine {
                             log.info("Published product price update for product {}: {} -> {}",
                                     finalProductId, finalPreviousPrice, finalNewPrice);
 
-                            // Publish bid history update so all viewers see the new bid
+                            // Publish only the new bid; viewers append it to the history they hold
                             try {
-                                List<BidHistoryDto> histories = bidRepository.findByProductIdOrderByCreatedAtDesc(finalProductId)
-                                        .stream()
-                                        .map(BidMapper::toDto)
-                                        .toList();
-                                bidEventPublisher.publishBidHistory(finalProductId, histories);
-                                log.info("Published bid history update for product {} with {} bids",
-                                        finalProductId, histories.size());
+                                bidEventPublisher.publishBidAppended(finalProductId, bidSequence, appendedBid);
+                                log.info("Published bid appended for product {} with sequence {}",
+                                        finalProductId, bidSequence);
                             } catch (Exception e) {
-                                log.error("Error publishing bid history update for product {}", finalProductId, e);
+                                log.error("Error publishing bid appended for product {}", finalProductId, e);
                             }
 
                             // Send email notifications
@@ -215,7 +208,7 @@ public class AutoBidEngine {
         }
 
         if (product.getBuyNowPrice() != null &&
-                bidders.getFirst().getMaxPrice().compareTo(product.getBuyNowPrice()) >= 0) {
+                Float.compare(winnerConfig.maxPrice(), product.getBuyNowPrice()) >= 0) {
             // End auction
             product.setEndTime(LocalDateTime.now());
             product.setStatus(ProductStatus.ENDED);
@@ -224,9 +217,11 @@ public class AutoBidEngine {
             // Create order
             Order order = orderService.createOrderForBuyNow(
                     product,
-                    winnerConfig.getBidderId(),
-                    bidders.getFirst().getMaxPrice()
+                    winnerConfig.bidderId(),
+                    winnerConfig.maxPrice()
             );
+            auctionBookRegistry.evict(productId);
+            auctionCloser.cancel(productId);
 
 
             return new AutoBidResult(true, bid);
@@ -244,6 +239,8 @@ public class AutoBidEngine {
                         product.getEndTime().plusMinutes(rule.getExtensionMinutes())
                 );
                 productService.save(product);
+                // move the closing deadline along with the extension
+                auctionCloser.scheduleAfterCommit(productId, product.getEndTime());
             }
         });
 
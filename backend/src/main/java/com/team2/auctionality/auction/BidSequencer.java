@@ -0,0 +1,158 @@
+package com.team2.auctionality.auction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer sequencer for bid commands.
+ * Every command touching a product's auction state goes to that product's mailbox and runs on a
+ * virtual thread, so commands for the same product run strictly one after another while other
+ * products are never held up behind them (a command blocked on JDBC only parks its own product).
+ * A mailbox exists only while it has work.
+ * <p>
+ * The order only holds within this instance. Across replicas Product's optimistic version is the
+ * backstop: a command that loses a race with another node fails with an optimistic locking
+ * exception and is re-run (in its turn) on fresh state, up to app.auction.optimistic-retries times.
+ */
+@Component
+@Slf4j
+public class BidSequencer implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("bid-lane-", 0).factory());
+    // Key: product id, value: commands waiting behind the running one (which is at the head)
+    private final Map<Integer, Queue<Runnable>> mailboxes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Integer> currentProduct = new ThreadLocal<>();
+    private final int optimisticRetries;
+
+    public BidSequencer(@Value("${app.auction.optimistic-retries:3}") int optimisticRetries) {
+        this.optimisticRetries = Math.max(0, optimisticRetries);
+    }
+
+    /**
+     * Run a command in the product's order and wait for its result.
+     * Exceptions thrown by the command are rethrown unchanged to the caller.
+     */
+    public <T> T execute(Integer productId, Supplier<T> command) {
+        // Already running a command of this product (nested command) - run inline to avoid self-deadlock;
+        // the outer command owns the transaction and its retries
+        if (productId.equals(currentProduct.get())) {
+            return command.get();
+        }
+
+        FutureTask<T> task = new FutureTask<>(new DelegatingSecurityContextCallable<>(() -> withRetries(productId, command)));
+        enqueue(productId, task);
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Bid command failed for product " + productId, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bid command on product " + productId, e);
+        }
+    }
+
+    public void run(Integer productId, Runnable command) {
+        execute(productId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    private <T> T withRetries(Integer productId, Supplier<T> command) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return command.get();
+            } catch (OptimisticLockingFailureException e) {
+                // Another node changed the product since this command read it; its transaction rolled back
+                if (attempt >= optimisticRetries) {
+                    throw e;
+                }
+                log.debug("Product {} changed concurrently, re-running command (attempt {})", productId, attempt + 2);
+            }
+        }
+    }
+
+    /**
+     * Append a command to the product's mailbox; the first command of an idle product starts a drainer
+     */
+    private void enqueue(Integer productId, Runnable task) {
+        boolean[] idle = new boolean[1];
+        mailboxes.compute(productId, (id, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                idle[0] = true;
+            }
+            queue.add(task);
+            return queue;
+        });
+        if (idle[0]) {
+            executor.execute(() -> drain(productId, task));
+        }
+    }
+
+    private void drain(Integer productId, Runnable first) {
+        currentProduct.set(productId);
+        try {
+            Runnable task = first;
+            while (task != null) {
+                task.run();
+                task = next(productId);
+            }
+        } finally {
+            currentProduct.remove();
+        }
+    }
+
+    /**
+     * Drop the finished head of the mailbox and return the next command; removes the mailbox when empty
+     */
+    private Runnable next(Integer productId) {
+        Runnable[] next = new Runnable[1];
+        // Queues are only touched inside compute, under the map's per-key lock
+        mailboxes.computeIfPresent(productId, (id, queue) -> {
+            queue.poll();
+            next[0] = queue.peek();
+            return next[0] != null ? queue : null;
+        });
+        return next[0];
+    }
+
+    /**
+     * Commands in the product's mailbox, including the running one
+     */
+    int pending(Integer productId) {
+        int[] size = new int[1];
+        mailboxes.computeIfPresent(productId, (id, queue) -> {
+            size[0] = queue.size();
+            return queue;
+        });
+        return size[0];
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
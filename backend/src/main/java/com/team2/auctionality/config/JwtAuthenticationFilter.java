@@ -1,6 +1,8 @@
 package com.team2.auctionality.config;
 
 import com.team2.auctionality.security.JwtService;
+import com.team2.auctionality.security.PrincipalCache;
+import com.team2.auctionality.security.VerifiedToken;
 import com.team2.auctionality.service.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -25,6 +27,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -72,17 +75,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            final String userEmail = jwtService.extractEmail(jwt);
+            // Parse and verify once; later consumers read it from the request
+            final VerifiedToken token = jwtService.verify(jwt);
+            request.setAttribute(VerifiedToken.ATTRIBUTE, token);
+            final String userEmail = token.email();
 
             // If email extracted and user not already authenticated
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                // User ID from the JWT token, for RLS and the principal cache
+                Integer userId = token.userId();
+                // Tokens without a userId claim fall back to loading the user by email
+                UserDetails userDetails = userId != null
+                        ? principalCache.get(userId, userEmail)
+                        : userDetailsService.loadUserByUsername(userEmail);
 
                 // Validate token
-                if (jwtService.validateToken(jwt, userDetails)) {
-                    // Extract user ID from JWT token for RLS
-                    Integer userId = jwtService.extractUserId(jwt);
-                    
+                if (jwtService.validateToken(token, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -6,17 +6,32 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Bid events feed in-memory state on every node (SSE subscribers, top-products read model),
+ * so each instance consumes them from its own exclusive auto-delete queues bound to a topic exchange.
+ * Routing keys carry the product id ("bid.history.42"). By default a node binds with wildcards and
+ * gets every event; with app.events.per-product-bindings it only binds the products it has
+ * live SSE subscribers for (see ProductEventBindings).
+ */
 @Configuration
 public class RabbitConfig {
 
-    public static final String BID_HISTORY_QUEUE = "bid.history.queue";
-    public static final String BID_EXCHANGE = "bid.exchange";
-    public static final String BID_HISTORY_ROUTING_KEY = "bid.history";
-    public static final String PRODUCT_PRICE_QUEUE = "product.price.queue";
-    public static final String PRODUCT_PRICE_ROUTING_KEY = "product.price";
+    public static final String BID_EXCHANGE = "bid.events";
+    public static final String BID_HISTORY_ROUTING_PREFIX = "bid.history.";
+    public static final String PRODUCT_PRICE_ROUTING_PREFIX = "product.price.";
+    public static final String PER_PRODUCT_BINDINGS_PROPERTY = "app.events.per-product-bindings";
+
+    public static String bidHistoryRoutingKey(Integer productId) {
+        return BID_HISTORY_ROUTING_PREFIX + productId;
+    }
+
+    public static String productPriceRoutingKey(Integer productId) {
+        return PRODUCT_PRICE_ROUTING_PREFIX + productId;
+    }
 
     @Bean
     public MessageConverter jsonConverter() {
@@ -30,35 +45,37 @@ public class RabbitConfig {
         return template;
     }
 
+    @Bean
+    public TopicExchange bidExchange() {
+        return new TopicExchange(BID_EXCHANGE);
+    }
+
+    // Non-durable, exclusive, auto-delete; the name is generated once per instance
     @Bean
     public Queue bidHistoryQueue() {
-        return QueueBuilder.durable(BID_HISTORY_QUEUE).build();
+        return new AnonymousQueue(new Base64UrlNamingStrategy("bid.history."));
     }
 
     @Bean
-    public DirectExchange bidExchange() {
-        return new DirectExchange(BID_EXCHANGE);
+    public Queue productPriceQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("product.price."));
     }
 
     @Bean
+    @ConditionalOnProperty(name = PER_PRODUCT_BINDINGS_PROPERTY, havingValue = "false", matchIfMissing = true)
     public Binding bidHistoryBinding() {
         return BindingBuilder
                 .bind(bidHistoryQueue())
                 .to(bidExchange())
-                .with(BID_HISTORY_ROUTING_KEY);
-    }
-
-    @Bean
-    public Queue productPriceQueue() {
-        return QueueBuilder.durable(PRODUCT_PRICE_QUEUE).build();
+                .with(BID_HISTORY_ROUTING_PREFIX + "*");
     }
 
     @Bean
+    @ConditionalOnProperty(name = PER_PRODUCT_BINDINGS_PROPERTY, havingValue = "false", matchIfMissing = true)
     public Binding productPriceBinding() {
         return BindingBuilder
                 .bind(productPriceQueue())
                 .to(bidExchange())
-                .with(PRODUCT_PRICE_ROUTING_KEY);
+                .with(PRODUCT_PRICE_ROUTING_PREFIX + "*");
     }
 }
-
@@ -8,10 +8,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.PathContainer;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -28,7 +30,19 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
     private final RateLimitService rateLimitService;
     private final RateLimitProperties properties;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // Compiled from the properties at startup and again on every context refresh
+    private volatile RateLimitRules rules;
+
+    @Override
+    protected void initFilterBean() {
+        refreshRules();
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void refreshRules() {
+        rules = RateLimitRules.compile(properties);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -45,9 +59,11 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
         String requestPath = request.getRequestURI();
         String method = request.getMethod();
+        PathContainer path = PathContainer.parsePath(requestPath);
+        RateLimitRules currentRules = rules;
 
         // Skip excluded paths
-        if (isExcludedPath(requestPath)) {
+        if (currentRules.isExcluded(path)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -56,17 +72,17 @@ public class RateLimitFilter extends OncePerRequestFilter {
         String identifier = getIdentifier(request);
         
         // Get rate limit configuration for this endpoint
-        RateLimitConfig config = getRateLimitConfig(requestPath, method);
+        RateLimitRules.Limit config = currentRules.resolve(path, method);
         
         // Check rate limit
-        if (!rateLimitService.isAllowed(identifier, config.getMaxRequests(), config.getWindowSeconds())) {
-            int remaining = rateLimitService.getRemainingRequests(identifier, config.getMaxRequests(), config.getWindowSeconds());
+        if (!rateLimitService.isAllowed(identifier, config.maxRequests(), config.windowSeconds())) {
+            int remaining = rateLimitService.getRemainingRequests(identifier, config.maxRequests(), config.windowSeconds());
             log.warn("Rate limit exceeded for {} on {} {} (remaining: {})", 
                     identifier, method, requestPath, remaining);
             
             throw new RateLimitExceededException(
                     String.format("Rate limit exceeded. Maximum %d requests per %d seconds. Please try again later.", 
-                            config.getMaxRequests(), config.getWindowSeconds())
+                            config.maxRequests(), config.windowSeconds())
             );
         }
 
@@ -74,15 +90,6 @@ public class RateLimitFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean isExcludedPath(String path) {
-        for (String excludePattern : properties.getExcludePaths()) {
-            if (pathMatcher.match(excludePattern, path)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private String getIdentifier(HttpServletRequest request) {
         if (properties.isUserBased()) {
             // Try to get user ID from security context
@@ -127,61 +134,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
         
         return request.getRemoteAddr();
     }
-
-    private RateLimitConfig getRateLimitConfig(String path, String method) {
-        // Check endpoint-specific limit first
-        String endpointLimit = properties.getEndpoints().entrySet().stream()
-                .filter(entry -> pathMatcher.match(entry.getKey(), path))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElse(null);
-
-        if (endpointLimit != null) {
-            return parseConfig(endpointLimit);
-        }
-
-        // Check method-specific limit
-        String methodLimit = properties.getMethods().get(method);
-        if (methodLimit != null) {
-            return parseConfig(methodLimit);
-        }
-
-        // Use default limit
-        return parseConfig(properties.getDefaultLimit());
-    }
-
-    private RateLimitConfig parseConfig(String config) {
-        String[] parts = config.split(":");
-        if (parts.length != 2) {
-            log.warn("Invalid rate limit config: {}, using default", config);
-            return parseConfig(properties.getDefaultLimit());
-        }
-
-        try {
-            int requests = Integer.parseInt(parts[0].trim());
-            int window = Integer.parseInt(parts[1].trim());
-            return new RateLimitConfig(requests, window);
-        } catch (NumberFormatException e) {
-            log.warn("Invalid rate limit config format: {}, using default", config);
-            return parseConfig(properties.getDefaultLimit());
-        }
-    }
-
-    private static class RateLimitConfig {
-        private final int maxRequests;
-        private final int windowSeconds;
-
-        RateLimitConfig(int maxRequests, int windowSeconds) {
-            this.maxRequests = maxRequests;
-            this.windowSeconds = windowSeconds;
-        }
-
-        int getMaxRequests() {
-            return maxRequests;
-        }
-
-        int getWindowSeconds() {
-            return windowSeconds;
-        }
-    }
 }
@@ -43,6 +43,23 @@ public class RateLimitProperties {
      */
     private boolean userBased = true;
 
+    /**
+     * Maximum number of identifiers (users / IPs) whose rate-limit state is kept in memory.
+     * Beyond it the least valuable entries are evicted, so spoofed X-Forwarded-For values can't grow it forever
+     */
+    private long maxKeys = 100_000;
+
+    /**
+     * Forget an identifier after this long without requests.
+     * Should be at least the longest configured window, otherwise a limit resets early
+     */
+    private long idleExpirySeconds = 600;
+
+    /**
+     * Cluster-wide limits shared by all replicas
+     */
+    private Distributed distributed = new Distributed();
+
     /**
      * Endpoints to exclude from rate limiting
      */
@@ -52,4 +69,23 @@ public class RateLimitProperties {
         "/v3/api-docs/**",
         "/swagger-ui.html"
     };
+
+    @Data
+    public static class Distributed {
+        /**
+         * Enforce limits across replicas through the rate_limit_bucket table instead of per instance
+         */
+        private boolean enabled = false;
+
+        /**
+         * Tokens a replica takes from the shared bucket at once and then spends locally.
+         * Capped at a tenth of the limit, so small limits still spread across replicas
+         */
+        private int leaseBatch = 10;
+
+        /**
+         * Unspent leased tokens are dropped after this long, bounding how long they are kept from other replicas
+         */
+        private long leaseTtlMs = 5000;
+    }
 }
@@ -0,0 +1,95 @@
+package com.team2.auctionality.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate-limit table compiled from RateLimitProperties: path patterns are parsed once and every
+ * "requests:windowSeconds" limit is parsed once per route and method, so a request only walks
+ * pre-parsed PathPatterns. Endpoint routes are tried most specific first.
+ */
+@Slf4j
+public final class RateLimitRules {
+
+    public record Limit(int maxRequests, int windowSeconds) {
+    }
+
+    private record Route(PathPattern pattern, Limit limit) {
+    }
+
+    private final List<PathPattern> excludes;
+    private final List<Route> routes;
+    private final Map<String, Limit> methodLimits;
+    private final Limit defaultLimit;
+
+    private RateLimitRules(List<PathPattern> excludes, List<Route> routes, Map<String, Limit> methodLimits, Limit defaultLimit) {
+        this.excludes = excludes;
+        this.routes = routes;
+        this.methodLimits = methodLimits;
+        this.defaultLimit = defaultLimit;
+    }
+
+    public static RateLimitRules compile(RateLimitProperties properties) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        Limit defaultLimit = parseLimit(properties.getDefaultLimit(), new Limit(100, 60));
+
+        List<PathPattern> excludes = Arrays.stream(properties.getExcludePaths())
+                .map(parser::parse)
+                .toList();
+
+        List<Route> routes = new ArrayList<>();
+        properties.getEndpoints().forEach((pattern, limit) ->
+                routes.add(new Route(parser.parse(pattern), parseLimit(limit, defaultLimit))));
+        routes.sort(Comparator.comparing(Route::pattern, PathPattern.SPECIFICITY_COMPARATOR));
+
+        Map<String, Limit> methodLimits = new HashMap<>();
+        properties.getMethods().forEach((method, limit) -> methodLimits.put(method, parseLimit(limit, defaultLimit)));
+
+        return new RateLimitRules(excludes, List.copyOf(routes), Map.copyOf(methodLimits), defaultLimit);
+    }
+
+    public boolean isExcluded(PathContainer path) {
+        for (PathPattern exclude : excludes) {
+            if (exclude.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Limit of the most specific matching endpoint route, else of the HTTP method, else the default
+     */
+    public Limit resolve(PathContainer path, String method) {
+        for (Route route : routes) {
+            if (route.pattern().matches(path)) {
+                return route.limit();
+            }
+        }
+        return methodLimits.getOrDefault(method, defaultLimit);
+    }
+
+    private static Limit parseLimit(String config, Limit fallback) {
+        String[] parts = config != null ? config.split(":") : new String[0];
+        if (parts.length != 2) {
+            log.warn("Invalid rate limit config: {}, using default", config);
+            return fallback;
+        }
+
+        try {
+            return new Limit(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid rate limit config format: {}, using default", config);
+            return fallback;
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.team2.auctionality.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.DelegatingDataSource;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -17,8 +17,10 @@ import java.sql.SQLException;
 /**
  * Configuration to wrap DataSource with RLS support.
  * Uses BeanPostProcessor to wrap the auto-configured DataSource.
+ * app.rls.enabled=false turns it off (e.g. to measure its cost).
  */
 @Configuration
+@ConditionalOnProperty(name = "app.rls.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class RlsDataSourceConfiguration {
@@ -71,37 +73,30 @@ public class RlsDataSourceConfiguration {
             return connection;
         }
 
-        private void setRlsVariables(Connection connection) {
-            // Set RLS variables when in a transaction
-            // For non-transactional operations, set immediately
-            if (TransactionSynchronizationManager.isActualTransactionActive()) {
-                // Use a resource flag to ensure we only set once per transaction
-                String resourceKey = "rls.set." + connection.hashCode();
-                if (!TransactionSynchronizationManager.hasResource(resourceKey)) {
-                    TransactionSynchronizationManager.bindResource(resourceKey, true);
-                    
-                    // Register synchronization to ensure RLS variables are set before commit
-                    // and to clean up resources after transaction completes
-                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                        @Override
-                        public void beforeCommit(boolean readOnly) {
-                            // Ensure RLS variables are set before commit
-                            rlsService.setSessionVariables(connection);
-                        }
-                        
-                        @Override
-                        public void afterCompletion(int status) {
-                            // Clean up resource
-                            TransactionSynchronizationManager.unbindResource(resourceKey);
-                        }
-                    });
-                    
-                    // Set immediately for queries that execute during the transaction
-                    rlsService.setSessionVariables(connection);
-                }
-            } else {
-                // For non-transactional operations, set immediately
+        private void setRlsVariables(Connection connection) throws SQLException {
+            // Session-level and skipped when the connection already carries the user, so no
+            // per-transaction SET LOCAL (which also ran before the transaction had begun, in autocommit)
+            try {
                 rlsService.setSessionVariables(connection);
+            } catch (SQLException | RuntimeException e) {
+                // The session may still carry another user's app.user_id: never let the pool reuse it
+                discard(connection);
+                log.error("Failed to set RLS session variables, connection discarded: {}", e.getMessage());
+                throw e;
+            }
+        }
+
+        private void discard(Connection connection) {
+            try {
+                if (getTargetDataSource() instanceof HikariDataSource hikari) {
+                    hikari.evictConnection(connection);
+                } else {
+                    // Outside Hikari, aborting marks the connection as unusable before close
+                    connection.abort(Runnable::run);
+                    connection.close();
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Failed to discard connection: {}", e.getMessage());
             }
         }
     }
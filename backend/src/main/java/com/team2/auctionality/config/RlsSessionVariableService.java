@@ -1,6 +1,9 @@
 package com.team2.auctionality.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.team2.auctionality.security.JwtService;
+import com.team2.auctionality.security.VerifiedToken;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,11 +14,16 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Objects;
 
 /**
  * Service to set PostgreSQL session variables for Row-Level Security (RLS).
  * Sets app.user_id based on the authenticated user from Spring Security context.
+ * The variable is set for the session of the pooled connection and remembered per physical
+ * connection, so checking a connection out again for the same user costs no round trip.
+ * Anonymous requests get ANONYMOUS_USER_ID, which like an unset variable matches no row.
  * 
  * IMPORTANT: RLS policies must be enabled in the database by running RLSPolicies.sql
  */
@@ -23,38 +31,62 @@ import java.sql.SQLException;
 @Slf4j
 @RequiredArgsConstructor
 public class RlsSessionVariableService {
+
+    // Ids start at 1; policies only compare app.user_id for equality, so 0 behaves like "not set"
+    // (an empty value, what RESET leaves behind, would fail the ::INTEGER cast)
+    static final int ANONYMOUS_USER_ID = 0;
+
+    private static final String SET_USER_ID_SQL = "SELECT set_config('app.user_id', ?, false)";
+
     private final JwtService jwtService;
 
+    // Key: physical connection (weak, identity), Value: app.user_id currently set on its session
+    private final Cache<Connection, Integer> appliedUserIds = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
     /**
-     * Set PostgreSQL session variables for the current connection.
-     * Uses SET LOCAL to ensure variables are scoped to the current transaction.
+     * Set PostgreSQL session variables for the current connection, unless the session already
+     * holds them from its previous checkout.
+     * Fails closed: the session may still carry the previous borrower's app.user_id, so a failed
+     * set is rethrown and the caller must not hand the connection out (RlsDataSourceWrapper evicts it).
      * 
      * @param connection Database connection
+     * @throws SQLException if app.user_id could not be set
      */
-    public void setSessionVariables(Connection connection) {
+    public void setSessionVariables(Connection connection) throws SQLException {
         if (connection == null) {
             return;
         }
 
+        int userId = Objects.requireNonNullElse(getCurrentUserId(), ANONYMOUS_USER_ID);
+        Connection physical = physicalConnection(connection);
+        Integer applied = appliedUserIds.getIfPresent(physical);
+        if (applied != null && applied == userId) {
+            return;
+        }
+
+        // Forget the old value first, so a failure below can never leave a stale entry behind
+        appliedUserIds.invalidate(physical);
+        try (PreparedStatement stmt = connection.prepareStatement(SET_USER_ID_SQL)) {
+            stmt.setString(1, Integer.toString(userId));
+            stmt.execute();
+        }
+        // Inside an open transaction a rollback would undo the value, so only remember autocommit sets
+        if (connection.getAutoCommit()) {
+            appliedUserIds.put(physical, userId);
+        }
+        log.debug("Set RLS session variable app.user_id = {}", userId);
+    }
+
+    /**
+     * The pooled connection behind a pool proxy; the proxy changes per checkout, the session doesn't
+     */
+    private static Connection physicalConnection(Connection connection) {
         try {
-            Integer userId = getCurrentUserId();
-            
-            // Use SET LOCAL to set variable for current transaction only
-            // This ensures the variable is automatically cleared when transaction ends
-            // For unauthenticated users (userId is null), don't set the variable
-            // RLS policies will handle NULL correctly via current_setting('app.user_id', true)::INTEGER
-            if (userId != null) {
-                String sql = "SET LOCAL app.user_id = " + userId;
-                try (var stmt = connection.createStatement()) {
-                    stmt.execute(sql);
-                    log.debug("Set RLS session variable app.user_id = {}", userId);
-                }
-            } else {
-                log.debug("No authenticated user - skipping RLS session variable setting");
-            }
+            return connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
         } catch (SQLException e) {
-            log.warn("Failed to set RLS session variables: {}", e.getMessage());
-            // Don't throw exception - allow query to proceed without RLS if setting fails
+            return connection;
         }
     }
 
@@ -103,11 +135,18 @@ public class RlsSessionVariableService {
             }
 
             HttpServletRequest request = attributes.getRequest();
+
+            // Token already verified by JwtAuthenticationFilter for this request
+            if (request.getAttribute(VerifiedToken.ATTRIBUTE) instanceof VerifiedToken verified) {
+                return verified.userId();
+            }
+
             String authHeader = request.getHeader("Authorization");
             
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                return jwtService.extractUserId(token);
+                VerifiedToken verified = jwtService.verify(authHeader.substring(7));
+                request.setAttribute(VerifiedToken.ATTRIBUTE, verified);
+                return verified.userId();
             }
         } catch (Exception e) {
             log.debug("Could not extract user ID from request: {}", e.getMessage());
@@ -62,7 +62,8 @@ public class SecurityConfig {
                         .requestMatchers("/ws-chat/**").permitAll()
                         .requestMatchers(
                                 "/api/bids/products/*/price",
-                                "/api/bids/products/*/history"
+                                "/api/bids/products/*/history",
+                                "/api/bids/products/*/history/snapshot"
                         ).permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
@@ -0,0 +1,64 @@
+package com.team2.auctionality.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.sse")
+@Data
+public class SseProperties {
+    /**
+     * Recent bid-history events kept per product for Last-Event-ID reconnects
+     */
+    private int replayBufferSize = 256;
+
+    /**
+     * Drop a product's replay buffer after this long without events or subscribers
+     */
+    private long replayIdleMs = 600000;
+
+    /**
+     * Lifetime of one SSE connection; the EventSource then reconnects and resumes from Last-Event-ID.
+     * 0 = never time out
+     */
+    private long timeoutMs = 1800000;
+
+    /**
+     * Interval of heartbeat comments on quiet streams. Keeps proxies from closing them
+     * and detects clients that went away without closing the connection.
+     */
+    private long heartbeatMs = 15000;
+
+    /**
+     * Outbound events queued per subscriber before the overflow policy applies
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * What to do with a subscriber whose queue is full
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Replace a queued price / product update with a newer one instead of queueing both
+     */
+    private boolean coalesce = true;
+
+    /**
+     * Evict a subscriber whose oldest queued event has waited this long (it fell too far behind)
+     */
+    private long maxLagMs = 30000;
+
+    /**
+     * Price updates of one product within this window are merged into one (latest price,
+     * previous price from the start of the window). 0 = forward every update
+     */
+    private long priceCoalesceWindowMs = 75;
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, // the client sees a sequence gap and reloads the snapshot
+        DROP_NEWEST,
+        EVICT // close the connection; the client reconnects and resumes from Last-Event-ID
+    }
+}
@@ -1,6 +1,7 @@
 package com.team2.auctionality.config;
 
 import com.team2.auctionality.model.User;
+import com.team2.auctionality.security.AuthenticatedUser;
 import com.team2.auctionality.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +48,11 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
             return (User) principal;
         }
 
+        // JWT requests: a lazy reference, so handlers that only need the id cause no user query
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authService.getUserReference(authenticatedUser.id());
+        }
+
         // Fallback: use authentication.getName() as email and lookup user
         String email = authentication.getName();
         if (email == null) {
@@ -3,6 +3,7 @@ package com.team2.auctionality.config;
 import com.team2.auctionality.model.User;
 import com.team2.auctionality.repository.UserRepository;
 import com.team2.auctionality.security.JwtService;
+import com.team2.auctionality.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -18,6 +19,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 /**
  * WebSocket Authentication Interceptor
  * Extracts JWT token from STOMP headers and authenticates the user
@@ -90,10 +93,11 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
         if (token != null && !token.isBlank()) {
             try {
-                String userEmail = jwtService.extractEmail(token);
+                VerifiedToken verified = verify(accessor, token);
+                String userEmail = verified.email();
                 if (userEmail != null) {
                     UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-                    if (jwtService.validateToken(token, userDetails)) {
+                    if (jwtService.validateToken(verified, userDetails)) {
                         // Get User entity
                         User user = userRepository.findByEmail(userEmail).orElse(null);
                         if (user == null) {
@@ -132,5 +136,23 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
         return false;
     }
-}
 
+    /**
+     * Every SEND / SUBSCRIBE frame carries the token; verify it once per session
+     * and reuse the result while the client keeps sending the same token
+     */
+    private VerifiedToken verify(StompHeaderAccessor accessor, String token) {
+        Map<String, Object> session = accessor.getSessionAttributes();
+        if (session != null
+                && session.get(VerifiedToken.ATTRIBUTE) instanceof VerifiedToken cached
+                && cached.token().equals(token)
+                && !cached.isExpired()) {
+            return cached;
+        }
+        VerifiedToken verified = jwtService.verify(token);
+        if (session != null) {
+            session.put(VerifiedToken.ATTRIBUTE, verified);
+        }
+        return verified;
+    }
+}
@@ -1,6 +1,7 @@
 package com.team2.auctionality.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
@@ -22,6 +23,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer  {
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
     private final MessagingUserArgumentResolver messagingUserArgumentResolver;
 
+    // Broker destinations use dots after /topic/ (e.g. /topic/chat.12): RabbitMQ STOMP routing keys can't contain '/'
+    @Value("${app.websocket.broker-relay.enabled:false}")
+    private boolean brokerRelayEnabled;
+
+    @Value("${app.websocket.broker-relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker-relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker-relay.virtual-host:/}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.broker-relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.websocket.broker-relay.passcode:guest}")
+    private String relayPasscode;
+
     @Bean
     public TaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
@@ -40,10 +60,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer  {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // Enable simple broker with heartbeats to keep connection alive
-        registry.enableSimpleBroker("/topic")
-                .setHeartbeatValue(new long[]{10000, 10000}) // Send heartbeat every 10 seconds
-                .setTaskScheduler(taskScheduler());
+        if (brokerRelayEnabled) {
+            // RabbitMQ STOMP plugin holds the subscriptions, so any node can publish to clients of every node
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setVirtualHost(relayVirtualHost)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(10000)
+                    .setSystemHeartbeatReceiveInterval(10000)
+                    .setTaskScheduler(taskScheduler());
+        } else {
+            // Enable simple broker with heartbeats to keep connection alive
+            registry.enableSimpleBroker("/topic")
+                    .setHeartbeatValue(new long[]{10000, 10000}) // Send heartbeat every 10 seconds
+                    .setTaskScheduler(taskScheduler());
+        }
         registry.setApplicationDestinationPrefixes("/app");
     }
 
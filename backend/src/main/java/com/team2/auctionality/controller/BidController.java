@@ -1,5 +1,6 @@
 package com.team2.auctionality.controller;
 
+import com.team2.auctionality.auction.BidSequencer;
 import com.team2.auctionality.config.CurrentUser;
 import com.team2.auctionality.dto.*;
 import com.team2.auctionality.mapper.RejectedBidderMapper;
@@ -29,27 +30,20 @@ public class BidController {
 
     private final BidService bidService;
     private final com.team2.auctionality.sse.SseEmitterManager emitterManager;
+    private final BidSequencer bidSequencer;
 
     @GetMapping("/products/{productId}/history")
     @Operation(summary = "Subscribe to bid history updates via SSE")
     public SseEmitter subscribeBidHistory(
             @PathVariable Integer productId,
-            @RequestParam(required = false) String token
+            @RequestParam(required = false) String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
     ) {
         // Token can be passed as query parameter for SSE (EventSource doesn't support headers)
-        SseEmitter emitter = emitterManager.subscribe(productId);
-
-        try {
-            List<BidHistoryDto> histories = bidService.getBidHistory(productId);
-            emitter.send(
-                    SseEmitter.event()
-                            .name("bid-history")
-                            .data(histories)
-            );
-        } catch (Exception e) {
-            emitter.completeWithError(e);
-        }
-        return emitter;
+        // Only bid-appended / bid-history-reset events are streamed; clients load /history/snapshot
+        // once after subscribing and again only when they detect a sequence gap or get a reset.
+        // On reconnect the browser sends Last-Event-ID and the missed events are replayed from memory.
+        return emitterManager.subscribe(productId, lastEventId);
     }
 
     @GetMapping("/products/{productId}/price")
@@ -70,6 +64,12 @@ public class BidController {
         return ResponseEntity.ok(histories);
     }
 
+    @GetMapping("/products/{productId}/history/snapshot")
+    @Operation(summary = "Get bid history with the sequence of the last bid event it includes")
+    public ResponseEntity<BidHistorySnapshotDto> getBidHistorySnapshot(@PathVariable Integer productId) {
+        return ResponseEntity.ok(bidService.getBidHistorySnapshot(productId));
+    }
+
     @PostMapping("/products/{productId}")
     @Operation(summary = "Place bid")
     public ResponseEntity<ApiResponse<AutoBidConfig>> placeBid(
@@ -78,7 +78,13 @@ public class BidController {
             @CurrentUser User user
     ) {
         // Rate limiting is now handled globally by RateLimitFilter
-        AutoBidConfig bidConfig = bidService.placeBid(user, productId, bidRequest);
+        // Bids for the same product are applied one at a time on the product's lane.
+        // Only the id crosses to the lane thread: @CurrentUser is a lazy reference bound to this request
+        Integer bidderId = user.getId();
+        AutoBidConfig bidConfig = bidSequencer.execute(
+                productId,
+                () -> bidService.placeBid(bidderId, productId, bidRequest)
+        );
 
         URI location = URI.create("/api/bids/products/" + productId);
 
@@ -99,11 +105,15 @@ public class BidController {
             @CurrentUser User user
     ) {
         log.info("User {} rejecting bidder {} from product {}", user.getId(), bidderId, productId);
-        RejectedBidder rejectedBidder = bidService.rejectBidder(
+        Integer sellerId = user.getId();
+        RejectedBidder rejectedBidder = bidSequencer.execute(
                 productId,
-                bidderId,
-                request != null ? request.getReason() : null,
-                user.getId()
+                () -> bidService.rejectBidder(
+                        productId,
+                        bidderId,
+                        request != null ? request.getReason() : null,
+                        sellerId
+                )
         );
 
         return ResponseEntity.ok(RejectedBidderMapper.toDto(rejectedBidder));
@@ -138,7 +148,9 @@ public class BidController {
             @PathVariable Integer approvalId,
             @CurrentUser User user
     ) {
-        bidService.approveBidderApproval(approvalId, user.getId());
+        Integer productId = bidService.getApprovalProductId(approvalId);
+        Integer sellerId = user.getId();
+        bidSequencer.run(productId, () -> bidService.approveBidderApproval(approvalId, sellerId));
         return ResponseEntity.ok().build();
     }
 
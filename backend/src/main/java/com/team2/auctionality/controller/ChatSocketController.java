@@ -21,7 +21,7 @@ public class ChatSocketController {
     private final ChatMessageService messageService;
 
     @MessageMapping("/chat.send/{orderId}")
-    @SendTo("/topic/chat/{orderId}")
+    @SendTo("/topic/chat.{orderId}")
     public ChatMessage sendMessage(
             @DestinationVariable Integer orderId,
             ChatMessageRequest request,
@@ -1,5 +1,6 @@
 package com.team2.auctionality.controller;
 
+import com.team2.auctionality.auction.BidSequencer;
 import com.team2.auctionality.config.CurrentUser;
 import com.team2.auctionality.dto.*;
 import com.team2.auctionality.enums.ProductTopType;
@@ -10,6 +11,7 @@ import com.team2.auctionality.model.*;
 import com.team2.auctionality.repository.ProductExtraDescriptionRepository;
 import com.team2.auctionality.service.BidService;
 import com.team2.auctionality.service.ProductService;
+import com.team2.auctionality.service.TopProductsReadModel;
 import com.team2.auctionality.util.PaginationUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +20,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -33,6 +36,8 @@ public class ProductController {
     private final BidService bidService;
     private final ProductMapper productMapper;
     private final ProductExtraDescriptionRepository productExtraDescriptionRepository;
+    private final BidSequencer bidSequencer;
+    private final TopProductsReadModel topProductsReadModel;
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category")
@@ -49,15 +54,32 @@ public class ProductController {
         );
     }
 
+    @GetMapping(value = "/category/{categoryId}", params = "paging=cursor")
+    @Operation(summary = "Get products by category (cursor paging)")
+    public CursorPagedResponse<ProductDto> getProductsByCategoryByCursor(
+            @PathVariable Integer categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return PaginationMapper.from(productService.scrollProductsByCategory(categoryId, cursor, size));
+    }
+
     @GetMapping("/top")
     @Operation(summary = "Get top products by type")
     public ResponseEntity<?> getTopProducts(
-            @RequestParam ProductTopType type
+            @RequestParam ProductTopType type,
+            WebRequest request
     ) {
+        // Served from the in-memory read model; the ETag follows its version so clients can revalidate cheaply
+        TopProductsReadModel.Snapshot snapshot = topProductsReadModel.current();
+        String etag = "\"top-" + type.name().toLowerCase() + "-" + snapshot.version() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return switch (type) {
-            case ENDING_SOON -> ResponseEntity.ok(productService.getTop5EndingSoon());
-            case MOST_BID -> ResponseEntity.ok(productService.getTop5MostBid());
-            case HIGHEST_PRICE -> ResponseEntity.ok(productService.getTop5HighestPrice());
+            case ENDING_SOON -> ResponseEntity.ok().eTag(etag).body(snapshot.endingSoon());
+            case MOST_BID -> ResponseEntity.ok().eTag(etag).body(snapshot.mostBid());
+            case HIGHEST_PRICE -> ResponseEntity.ok().eTag(etag).body(snapshot.highestPrice());
         };
     }
 
@@ -80,6 +102,18 @@ public class ProductController {
         );
     }
 
+    @GetMapping(value = "/search", params = "paging=cursor")
+    @Operation(summary = "Search products (cursor paging)")
+    public CursorPagedResponse<ProductDto> searchProductsByCursor(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "endTimeDesc") String sort
+    ) {
+        return PaginationMapper.from(productService.scrollSearchProducts(keyword, categoryId, sort, cursor, size));
+    }
+
     @GetMapping
     @Operation(summary = "Get all products")
     public PagedResponse<ProductDto> getAllProducts(
@@ -91,6 +125,15 @@ public class ProductController {
         );
     }
 
+    @GetMapping(params = "paging=cursor")
+    @Operation(summary = "Get all products (cursor paging)")
+    public CursorPagedResponse<ProductDto> getAllProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return PaginationMapper.from(productService.scrollAllProducts(cursor, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by id")
     public ResponseEntity<ProductDto> getProductById(@PathVariable Integer id) {
@@ -199,7 +242,11 @@ public class ProductController {
             @CurrentUser User user
     ) {
         log.info("User {} buying product {} at buy now price", user.getId(), productId);
-        OrderDto order = productService.buyNow(productId, user);
+        // Buy now closes the auction, so it is ordered with bids on the same product.
+        // Only the id crosses to the lane thread: @CurrentUser is a lazy reference bound to this request
+        Integer buyerId = user.getId();
+        OrderDto order = bidSequencer.execute(productId, () -> productService.buyNow(productId, buyerId));
+        topProductsReadModel.markDirty();
         return ResponseEntity.ok(order);
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.team2.auctionality.config.CurrentUser;
 import com.team2.auctionality.dto.*;
 import com.team2.auctionality.mapper.*;
 import com.team2.auctionality.model.*;
+import com.team2.auctionality.service.HighestBidResolver;
 import com.team2.auctionality.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -29,7 +30,7 @@ public class UserController {
     private final UserService userService;
     private final WatchListItemMapper watchListItemMapper;
     private final ProductMapper productMapper;
-    private final com.team2.auctionality.service.BidService bidService;
+    private final HighestBidResolver highestBidResolver;
 
     @GetMapping("/watchlist")
     @Operation(summary = "Get user's watchlist")
@@ -51,6 +52,19 @@ public class UserController {
         return ResponseEntity.ok(com.team2.auctionality.mapper.PaginationMapper.from(watchlistPage));
     }
 
+    @GetMapping(value = "/watchlist", params = "paging=cursor")
+    @Operation(summary = "Get user's watchlist (cursor paging)")
+    public ResponseEntity<CursorPagedResponse<WatchListItemDto>> getWatchlistByCursor(
+            @CurrentUser User user,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        var watchlistWindow = userService.scrollWatchListWithFilters(user, keyword, categoryId, cursor, size);
+        return ResponseEntity.ok(com.team2.auctionality.mapper.PaginationMapper.from(watchlistWindow));
+    }
+
     @PostMapping("/watchlist/{productId}")
     @Operation(summary = "Add product to watchlist")
     public ResponseEntity<ApiResponse<WatchListItemDto>> addWatchlist(
@@ -153,13 +167,11 @@ public class UserController {
     public ResponseEntity<List<ProductDto>> getAuctionProducts(@CurrentUser User user) {
         log.debug("Getting auction products for user: {}", user.getId());
         List<Product> products = userService.getAuctionProducts(user);
+        // Highest bids for the whole list in one lookup instead of one per product
+        Map<Integer, Bid> highestBids = highestBidResolver.resolve(products);
         List<ProductDto> productDtos = products.stream()
                 .filter(Objects::nonNull)
-                .map(product -> {
-                    // Get the highest bid for each product
-                    Bid highestBid = bidService.getHighestBidByProductId(product.getId());
-                    return ProductMapper.toDto(product, highestBid);
-                })
+                .map(product -> ProductMapper.toDto(product, highestBids.get(product.getId())))
                 .collect(Collectors.toList());
         return ResponseEntity.ok(productDtos);
     }
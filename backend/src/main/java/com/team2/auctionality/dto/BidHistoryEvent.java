@@ -0,0 +1,24 @@
+package com.team2.auctionality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Incremental bid-history event. APPENDED carries the one new bid, RESET tells clients the
+ * history changed in a way a delta can't express (e.g. a bidder was rejected) and must be refetched.
+ * sequence is the product's bid count after the change, so it grows by one per appended bid
+ * and clients can detect missed events.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BidHistoryEvent {
+
+    public enum Type { APPENDED, RESET }
+
+    private Type type;
+    private Integer productId;
+    private long sequence;
+    private BidHistoryDto bid; // null for RESET
+}
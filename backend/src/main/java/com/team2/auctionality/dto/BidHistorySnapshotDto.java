@@ -0,0 +1,18 @@
+package com.team2.auctionality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BidHistorySnapshotDto {
+    private Integer productId;
+    private long sequence; // last bid-history event sequence included in bids
+    private List<BidHistoryDto> bids;
+}
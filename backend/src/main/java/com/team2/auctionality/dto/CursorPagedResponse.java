@@ -0,0 +1,27 @@
+package com.team2.auctionality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+    private List<T> items;
+    private Pagination pagination;
+
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pagination {
+        private int size;
+        private boolean hasNext;
+        // Pass back as ?cursor= to get the next slice; null on the last slice
+        private String nextCursor;
+    }
+
+}
@@ -4,6 +4,7 @@ import com.team2.auctionality.dto.ErrorResponse;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.connector.ClientAbortException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -245,6 +246,18 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent update gave up after retries: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(
+                        "The auction changed while your request was processed, please try again",
+                        HttpStatus.CONFLICT.value(),
+                        Instant.now()
+                ));
+    }
+
     @ExceptionHandler(RatingException.class)
     public ResponseEntity<ErrorResponse> handleInvalidRating(RatingException ex) {
         return ResponseEntity.badRequest()
@@ -265,6 +278,16 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(
+                        ex.getMessage(),
+                        HttpStatus.BAD_REQUEST.value(),
+                        Instant.now()
+                ));
+    }
+
     @ExceptionHandler(CancelOrderBadRequestException.class)
     public ResponseEntity<ErrorResponse> handleCancelOrderBadRequest(CancelOrderBadRequestException ex) {
         return ResponseEntity.badRequest()
@@ -0,0 +1,7 @@
+package com.team2.auctionality.exception;
+
+public class InvalidCursorException extends BusinessException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.team2.auctionality.mapper;
 
 import com.team2.auctionality.dto.HighestBidderInfoDto;
 import com.team2.auctionality.model.Bid;
+import com.team2.auctionality.model.Product;
 import com.team2.auctionality.model.User;
 import com.team2.auctionality.model.UserProfile;
 import org.springframework.stereotype.Component;
@@ -24,6 +25,20 @@ public class HighestBidderInfoMapper {
                 .build();
     }
 
+    /**
+     * Build the bidder info from the product's leading-bid snapshot (listings).
+     * The rating is not part of the snapshot and is left empty.
+     */
+    public static HighestBidderInfoDto fromSnapshot(Product product) {
+        if (product == null || product.getLeadingBidderId() == null) return null;
+
+        return HighestBidderInfoDto.builder()
+                .id(product.getLeadingBidderId())
+                .maskedName(maskName(product.getLeadingBidderName()))
+                .bidAmount(product.getLeadingBidAmount())
+                .build();
+    }
+
     private static String maskName(String fullName) {
         if (fullName == null || fullName.isBlank()) {
             return "****";
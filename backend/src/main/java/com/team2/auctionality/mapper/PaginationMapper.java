@@ -1,6 +1,9 @@
 package com.team2.auctionality.mapper;
+import com.team2.auctionality.dto.CursorPagedResponse;
 import com.team2.auctionality.dto.PagedResponse;
+import com.team2.auctionality.util.CursorUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 public class PaginationMapper {
 
@@ -17,4 +20,18 @@ public class PaginationMapper {
                 )
         );
     }
+
+    public static <T> CursorPagedResponse<T> from(Window<T> window) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? CursorUtils.encode(window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPagedResponse<>(
+                window.getContent(),
+                new CursorPagedResponse.Pagination(
+                        window.size(),
+                        nextCursor != null,
+                        nextCursor
+                )
+        );
+    }
 }
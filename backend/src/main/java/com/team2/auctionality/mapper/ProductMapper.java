@@ -68,4 +68,16 @@ public class ProductMapper {
     public static ProductDto toDto(Product product) {
         return toDto(product, null, null);
     }
+
+    /**
+     * Listing variant: highest bidder comes from the product's leading-bid snapshot
+     * instead of a per-row bid query
+     */
+    public static ProductDto toListingDto(Product product) {
+        ProductDto dto = toDto(product, null, null);
+        if (dto != null) {
+            dto.setHighestBidderInfo(HighestBidderInfoMapper.fromSnapshot(product));
+        }
+        return dto;
+    }
 }
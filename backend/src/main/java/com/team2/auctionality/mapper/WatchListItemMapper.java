@@ -18,6 +18,13 @@ public class WatchListItemMapper {
                 .findHighestBid(watchListItem.getProduct().getId())
                 .orElse(null);
 
+        return toDto(watchListItem, highestBid);
+    }
+
+    /**
+     * Map with an already resolved highest bid (see HighestBidResolver for lists)
+     */
+    public WatchListItemDto toDto(WatchListItem watchListItem, Bid highestBid) {
         return WatchListItemDto.builder()
                 .id(watchListItem.getId())
                 .user(UserMapper.toDto(watchListItem.getUser()))
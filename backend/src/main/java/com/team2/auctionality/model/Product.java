@@ -32,6 +32,10 @@ public class Product {
     @Column(name = "current_price")
     private Float currentPrice;
 
+    // COALESCE(current_price, start_price), computed by the database; non-null key for price cursors
+    @Column(name = "effective_price", insertable = false, updatable = false)
+    private Float effectivePrice;
+
     @Column(name = "buy_now_price")
     private Float buyNowPrice;
 
@@ -53,6 +57,28 @@ public class Product {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // ==== LEADING BID SNAPSHOT ====
+    // Maintained with every bid / rejection so listings don't need a highest-bid query per row
+
+    @Column(name = "leading_bidder_id")
+    private Integer leadingBidderId;
+
+    @Column(name = "leading_bidder_name")
+    private String leadingBidderName;
+
+    @Column(name = "leading_bid_amount")
+    private Float leadingBidAmount;
+
+    @Builder.Default
+    @Column(name = "bid_count", nullable = false)
+    private Integer bidCount = 0;
+
+    // Optimistic lock: BidSequencer only orders commands within one instance, so a bid applied by
+    // another node in between makes this node's commit fail instead of overwriting it
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -2,28 +2,30 @@ package com.team2.auctionality.rabbitmq;
 
 import com.team2.auctionality.config.RabbitConfig;
 import com.team2.auctionality.dto.BidHistoryDto;
-import com.team2.auctionality.dto.BidHistoryUpdatedEvent;
+import com.team2.auctionality.dto.BidHistoryEvent;
 import com.team2.auctionality.dto.ProductPriceUpdatedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 @RequiredArgsConstructor
 public class BidEventPublisher {
 
     private final RabbitTemplate rabbitTemplate;
 
-    public void publishBidHistory(Integer productId, List<BidHistoryDto> histories) {
+    public void publishBidAppended(Integer productId, long sequence, BidHistoryDto bid) {
+        publishBidHistoryEvent(new BidHistoryEvent(BidHistoryEvent.Type.APPENDED, productId, sequence, bid));
+    }
 
-        BidHistoryUpdatedEvent event =
-                new BidHistoryUpdatedEvent(productId, histories);
+    public void publishBidHistoryReset(Integer productId, long sequence) {
+        publishBidHistoryEvent(new BidHistoryEvent(BidHistoryEvent.Type.RESET, productId, sequence, null));
+    }
 
+    private void publishBidHistoryEvent(BidHistoryEvent event) {
         rabbitTemplate.convertAndSend(
                 RabbitConfig.BID_EXCHANGE,
-                RabbitConfig.BID_HISTORY_ROUTING_KEY,
+                RabbitConfig.bidHistoryRoutingKey(event.getProductId()),
                 event
         );
     }
@@ -32,10 +34,8 @@ public class BidEventPublisher {
         ProductPriceUpdatedEvent event = new ProductPriceUpdatedEvent(productId, newPrice, previousPrice);
         rabbitTemplate.convertAndSend(
                 RabbitConfig.BID_EXCHANGE,
-                RabbitConfig.PRODUCT_PRICE_ROUTING_KEY,
+                RabbitConfig.productPriceRoutingKey(productId),
                 event
         );
     }
 }
-
-
@@ -1,7 +1,8 @@
 package com.team2.auctionality.rabbitmq;
 
-import com.team2.auctionality.config.RabbitConfig;
-import com.team2.auctionality.dto.BidHistoryUpdatedEvent;
+import com.team2.auctionality.dto.BidHistoryEvent;
+import com.team2.auctionality.service.TopProductsReadModel;
+import com.team2.auctionality.sse.PriceUpdateCoalescer;
 import com.team2.auctionality.sse.SseEmitterManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -12,14 +13,15 @@ import org.springframework.stereotype.Component;
 public class BidHistoryEventListener {
 
     private final SseEmitterManager emitterManager;
+    private final TopProductsReadModel topProductsReadModel;
+    private final PriceUpdateCoalescer priceUpdateCoalescer;
 
-    @RabbitListener(queues = RabbitConfig.BID_HISTORY_QUEUE)
-    public void onBidHistoryUpdated(BidHistoryUpdatedEvent event) {
-        emitterManager.send(
-                event.getProductId(),
-                event.getBidHistories()
-        );
+    @RabbitListener(queues = "#{bidHistoryQueue.name}")
+    public void onBidHistoryEvent(BidHistoryEvent event) {
+        // A price held back by the coalescer predates this bid; send it first
+        priceUpdateCoalescer.flush(event.getProductId());
+        emitterManager.send(event.getProductId(), event);
+        // sequence is the product's bid count
+        topProductsReadModel.onBidCountChanged(event.getProductId(), (int) event.getSequence());
     }
 }
-
-
@@ -0,0 +1,104 @@
+package com.team2.auctionality.rabbitmq;
+
+import com.team2.auctionality.config.RabbitConfig;
+import com.team2.auctionality.sse.ProductSubscriptionChangedEvent;
+import com.team2.auctionality.sse.SseEmitterManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-product routing mode: binds this instance's event queues only to the products that have
+ * live SSE subscribers here, and unbinds when the last one leaves.
+ * Bindings are declared before the subscribe request returns, so the client's snapshot load
+ * (done after the stream opens) can't miss an event.
+ * The top-products read model then only sees events of locally watched products and relies on its
+ * periodic rebuild for the rest.
+ */
+@Component
+@ConditionalOnProperty(name = RabbitConfig.PER_PRODUCT_BINDINGS_PROPERTY, havingValue = "true")
+@Slf4j
+public class ProductEventBindings implements InitializingBean {
+
+    private final AmqpAdmin amqpAdmin;
+    private final ConnectionFactory connectionFactory;
+    private final TopicExchange bidExchange;
+    private final Queue bidHistoryQueue;
+    private final Queue productPriceQueue;
+    private final SseEmitterManager emitterManager;
+
+    private final Set<Integer> boundProducts = new HashSet<>();
+
+    public ProductEventBindings(AmqpAdmin amqpAdmin,
+                                ConnectionFactory connectionFactory,
+                                TopicExchange bidExchange,
+                                @Qualifier("bidHistoryQueue") Queue bidHistoryQueue,
+                                @Qualifier("productPriceQueue") Queue productPriceQueue,
+                                SseEmitterManager emitterManager) {
+        this.amqpAdmin = amqpAdmin;
+        this.connectionFactory = connectionFactory;
+        this.bidExchange = bidExchange;
+        this.bidHistoryQueue = bidHistoryQueue;
+        this.productPriceQueue = productPriceQueue;
+        this.emitterManager = emitterManager;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Dynamic bindings aren't redeclared by RabbitAdmin, restore them when the connection comes back
+        // (registered after RabbitAdmin's own listener, so the queues exist again by then)
+        connectionFactory.addConnectionListener(connection -> rebindAll());
+    }
+
+    @EventListener
+    public synchronized void onSubscriptionChanged(ProductSubscriptionChangedEvent event) {
+        Integer productId = event.productId();
+        boolean wanted = emitterManager.hasSubscribers(productId);
+        boolean bound = boundProducts.contains(productId);
+        try {
+            if (wanted && !bound) {
+                bindingsFor(productId).forEach(amqpAdmin::declareBinding);
+                boundProducts.add(productId);
+                log.debug("Bound event queues to product {}", productId);
+            } else if (!wanted && bound) {
+                bindingsFor(productId).forEach(amqpAdmin::removeBinding);
+                boundProducts.remove(productId);
+                // Events of this product no longer reach this node, so its replay buffer would have gaps
+                emitterManager.discardReplayBuffer(productId);
+                log.debug("Unbound event queues from product {}", productId);
+            }
+        } catch (Exception e) {
+            log.error("Error updating event bindings for product {}", productId, e);
+        }
+    }
+
+    private synchronized void rebindAll() {
+        for (Integer productId : boundProducts) {
+            try {
+                bindingsFor(productId).forEach(amqpAdmin::declareBinding);
+            } catch (Exception e) {
+                log.error("Error restoring event bindings for product {}", productId, e);
+            }
+        }
+    }
+
+    private List<Binding> bindingsFor(Integer productId) {
+        return List.of(
+                BindingBuilder.bind(bidHistoryQueue).to(bidExchange).with(RabbitConfig.bidHistoryRoutingKey(productId)),
+                BindingBuilder.bind(productPriceQueue).to(bidExchange).with(RabbitConfig.productPriceRoutingKey(productId))
+        );
+    }
+}
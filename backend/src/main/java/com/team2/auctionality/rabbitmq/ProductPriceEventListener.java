@@ -1,8 +1,7 @@
 package com.team2.auctionality.rabbitmq;
 
-import com.team2.auctionality.config.RabbitConfig;
 import com.team2.auctionality.dto.ProductPriceUpdatedEvent;
-import com.team2.auctionality.sse.SseEmitterManager;
+import com.team2.auctionality.sse.PriceUpdateCoalescer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -13,16 +12,13 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class ProductPriceEventListener {
 
-    private final SseEmitterManager emitterManager;
+    private final PriceUpdateCoalescer priceUpdateCoalescer;
 
-    @RabbitListener(queues = RabbitConfig.PRODUCT_PRICE_QUEUE)
+    @RabbitListener(queues = "#{productPriceQueue.name}")
     public void onProductPriceUpdated(ProductPriceUpdatedEvent event) {
         log.info("Received product price update event for product {}: {} -> {}", 
                 event.getProductId(), event.getPreviousPrice(), event.getNewPrice());
-        emitterManager.sendProductPriceUpdate(
-                event.getProductId(),
-                event.getNewPrice(),
-                event.getPreviousPrice()
-        );
+        // Bursts of intermediate prices are merged before they reach SSE clients and the top lists
+        priceUpdateCoalescer.submit(event);
     }
 }
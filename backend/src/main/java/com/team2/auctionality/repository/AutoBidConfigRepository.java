@@ -2,7 +2,10 @@ package com.team2.auctionality.repository;
 
 import com.team2.auctionality.model.AutoBidConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +13,23 @@ public interface AutoBidConfigRepository extends JpaRepository<AutoBidConfig,Int
     Optional<AutoBidConfig> findByProductIdAndBidderId(Integer productId, Integer id);
 
     List<AutoBidConfig> findByProductId(Integer productId);
+
+    /**
+     * The auto-bid config of each given product that has exactly one
+     */
+    @Query(
+            value = """
+        SELECT c.*
+        FROM auto_bid_config c
+        WHERE c.product_id IN (
+            SELECT product_id
+            FROM auto_bid_config
+            WHERE product_id IN (:productIds)
+            GROUP BY product_id
+            HAVING COUNT(*) = 1
+        )
+    """,
+            nativeQuery = true
+    )
+    List<AutoBidConfig> findSoleConfigs(@Param("productIds") Collection<Integer> productIds);
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -89,6 +90,44 @@ public interface BidRepository extends JpaRepository<Bid,Integer> {
     )
     Optional<Bid> findHighestBid(@Param("productId") Integer productId);
 
+    /**
+     * Highest non-rejected bid of each given product in one round trip
+     * (same ordering as findHighestBid)
+     */
+    @Query(
+            value = """
+        SELECT DISTINCT ON (b.product_id) b.*
+        FROM bid b
+        WHERE b.product_id IN (:productIds)
+          AND NOT EXISTS (
+              SELECT 1
+              FROM rejected_bidder r
+              WHERE r.product_id = b.product_id
+                AND r.bidder_id = b.bidder_id
+          )
+        ORDER BY b.product_id, b.amount DESC, b.created_at ASC
+    """,
+            nativeQuery = true
+    )
+    List<Bid> findHighestBids(@Param("productIds") Collection<Integer> productIds);
+
+    /**
+     * Highest bid the auto bidder of each given config placed on the config's product
+     */
+    @Query(
+            value = """
+        SELECT DISTINCT ON (b.product_id) b.*
+        FROM bid b
+        JOIN auto_bid_config c
+          ON c.product_id = b.product_id
+         AND c.bidder_id = b.bidder_id
+        WHERE c.id IN (:configIds)
+        ORDER BY b.product_id, b.amount DESC, b.created_at ASC
+    """,
+            nativeQuery = true
+    )
+    List<Bid> findHighestBidsOfConfigBidders(@Param("configIds") Collection<Integer> configIds);
+
     /**
      * Find distinct bidders (users) who have placed bids on a product, excluding rejected bidders
      */
@@ -9,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,7 +19,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> {
 
     @EntityGraph(attributePaths = {"images", "category"})
     @Override
@@ -37,11 +39,11 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     List<Product> findTop5EndingSoon(Pageable pageable);
 
     // Same pattern as findTop5EndingSoon - only fetch images and category
-    // Bid count is calculated using SIZE() in ORDER BY (doesn't require fetching bids)
+    // Ordered by the maintained bid_count snapshot instead of counting bids per product
     @EntityGraph(attributePaths = {"images", "category"})
     @Query("""
         SELECT p FROM Product p
-        ORDER BY SIZE(p.bids) DESC
+        ORDER BY p.bidCount DESC
         """)
     List<Product> findTop5MostBid(Pageable pageable);
 
@@ -56,18 +58,22 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
 
     // Removed @EntityGraph to avoid Hibernate warning with pagination
     // Images and category will be batch fetched using @BatchSize on Product entity
+    // The category and its direct sub-categories are resolved first, so product is looked up by
+    // idx_product_category (an OR across the joined tables can't use either index)
     @Query(
             value = """
-                SELECT p.* 
+                SELECT p.*
                 FROM product p
-                LEFT JOIN category c ON p.category_id = c.id
-                WHERE p.category_id = :categoryId OR c.parent_id = :categoryId
+                WHERE p.category_id IN (
+                    SELECT c.id FROM category c WHERE c.id = :categoryId OR c.parent_id = :categoryId
+                )
             """,
             countQuery = """
-                SELECT COUNT(*) 
+                SELECT COUNT(*)
                 FROM product p
-                LEFT JOIN category c ON p.category_id = c.id
-                WHERE p.category_id = :categoryId OR c.parent_id = :categoryId
+                WHERE p.category_id IN (
+                    SELECT c.id FROM category c WHERE c.id = :categoryId OR c.parent_id = :categoryId
+                )
             """,
             nativeQuery = true
     )
@@ -75,6 +81,7 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
 
     // Removed @EntityGraph to avoid Hibernate warning with pagination
     // Images and category will be batch fetched using @BatchSize on Product entity
+    // Title match is written as LOWER(f_unaccent(title)) so it hits the trigram GIN index (V5 migration)
     @Query(
         """
         SELECT p FROM Product p
@@ -82,7 +89,7 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
             (:categoryId IS NULL OR p.category.id = :categoryId OR p.category.parent.id = :categoryId)
             AND (
                 :keyword IS NULL 
-                OR LOWER(FUNCTION('unaccent', p.title)) LIKE LOWER(CONCAT('%', FUNCTION('unaccent', CAST(:keyword AS string)), '%'))
+                OR LOWER(FUNCTION('f_unaccent', p.title)) LIKE CONCAT('%', LOWER(FUNCTION('f_unaccent', CAST(:keyword AS string))), '%')
             )
         """
     )
@@ -92,6 +99,31 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
             Pageable pageable
     );
 
+    // Same filter as searchProducts, ranked by how well the keyword matches a word run of the title
+    @Query(
+        value = """
+        SELECT p FROM Product p
+        WHERE 
+            (:categoryId IS NULL OR p.category.id = :categoryId OR p.category.parent.id = :categoryId)
+            AND LOWER(FUNCTION('f_unaccent', p.title)) LIKE CONCAT('%', LOWER(FUNCTION('f_unaccent', CAST(:keyword AS string))), '%')
+        ORDER BY FUNCTION('word_similarity',
+                    LOWER(FUNCTION('f_unaccent', CAST(:keyword AS string))),
+                    LOWER(FUNCTION('f_unaccent', p.title))) DESC,
+                 p.endTime DESC
+        """,
+        countQuery = """
+        SELECT COUNT(p) FROM Product p
+        WHERE 
+            (:categoryId IS NULL OR p.category.id = :categoryId OR p.category.parent.id = :categoryId)
+            AND LOWER(FUNCTION('f_unaccent', p.title)) LIKE CONCAT('%', LOWER(FUNCTION('f_unaccent', CAST(:keyword AS string))), '%')
+        """
+    )
+    Page<Product> searchProductsByRelevance(
+            @Param("keyword") String keyword,
+            @Param("categoryId") Integer categoryId,
+            Pageable pageable
+    );
+
     @Query(value = """
         SELECT DISTINCT p.*
         FROM product p
@@ -121,6 +153,110 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
 """)
     List<Product> findExpiredAndNotOrdered(LocalDateTime now);
 
+    /**
+     * Lock a bounded batch of expired, not yet ordered auctions that no other node holds a live claim on.
+     * Rows currently locked by another node's claim are skipped instead of waited on.
+     * The locks only last for the claiming transaction; claimForFinalization records the claim itself.
+     */
+    @Query(
+            value = """
+        SELECT p.id AS "id", p.end_time AS "endTime"
+        FROM product p
+        WHERE p.end_time <= :now
+          AND p.status = 'ACTIVE'
+          AND (p.finalization_claimed_until IS NULL OR p.finalization_claimed_until < :now)
+          AND NOT EXISTS (
+              SELECT 1
+              FROM "order" o
+              WHERE o.product_id = p.id
+          )
+        ORDER BY p.end_time
+        LIMIT :batchSize
+        FOR UPDATE OF p SKIP LOCKED
+        """,
+            nativeQuery = true
+    )
+    List<ProductDeadline> lockClaimableExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    /**
+     * Lease products to a node for finalization (see lockClaimableExpired)
+     */
+    @Modifying
+    @Query(
+            value = """
+        UPDATE product
+        SET finalization_claimed_by = :owner,
+            finalization_claimed_until = :until
+        WHERE id IN (:ids)
+        """,
+            nativeQuery = true
+    )
+    int claimForFinalization(@Param("ids") List<Integer> ids,
+                             @Param("owner") String owner,
+                             @Param("until") LocalDateTime until);
+
+    /**
+     * Lock an active product for finalization; empty if it is no longer active.
+     * Waits for a concurrent lock (e.g. a bid update or another node's finalization) instead of
+     * skipping the product; a finalization that waited then sees the committed status and skips.
+     */
+    @Query(
+            value = """
+        SELECT *
+        FROM product p
+        WHERE p.id = :productId
+          AND p.status = 'ACTIVE'
+        FOR UPDATE
+        """,
+            nativeQuery = true
+    )
+    java.util.Optional<Product> lockActiveForFinalization(@Param("productId") Integer productId);
+
+    /**
+     * Current auction_book_version of a product (see AuctionBookRegistry)
+     */
+    @Query(value = "SELECT auction_book_version FROM product WHERE id = :productId", nativeQuery = true)
+    Long findAuctionBookVersion(@Param("productId") Integer productId);
+
+    /**
+     * Stamp a product with a new auction_book_version after an auto-bid config change.
+     * The row lock taken here also orders concurrent config changes of the product.
+     */
+    @Query(
+            value = """
+        UPDATE product p
+        SET auction_book_version = nextval('auction_book_version_seq')
+        FROM (
+            SELECT id, auction_book_version
+            FROM product
+            WHERE id = :productId
+            FOR UPDATE
+        ) previous
+        WHERE p.id = previous.id
+        RETURNING previous.auction_book_version AS "previous", p.auction_book_version AS "current"
+        """,
+            nativeQuery = true
+    )
+    AuctionBookVersionChange bumpAuctionBookVersion(@Param("productId") Integer productId);
+
+    interface AuctionBookVersionChange {
+        Long getPrevious();
+
+        Long getCurrent();
+    }
+
+    /**
+     * End times of all active auctions, used to seed the auction closer on startup
+     */
+    @Query("SELECT p.id AS id, p.endTime AS endTime FROM Product p WHERE p.status = 'ACTIVE'")
+    List<ProductDeadline> findActiveDeadlines();
+
+    interface ProductDeadline {
+        Integer getId();
+
+        LocalDateTime getEndTime();
+    }
+
     @EntityGraph(attributePaths = {"images", "category", "seller"})
     @Query("""
         SELECT p FROM Product p
@@ -150,7 +286,7 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
         WHERE p.seller.id = :sellerId
             AND (
                 :keyword IS NULL 
-                OR LOWER(FUNCTION('unaccent', p.title)) LIKE LOWER(CONCAT('%', FUNCTION('unaccent', CAST(:keyword AS string)), '%'))
+                OR LOWER(FUNCTION('f_unaccent', p.title)) LIKE CONCAT('%', LOWER(FUNCTION('f_unaccent', CAST(:keyword AS string))), '%')
             )
         """)
     Page<Product> findBySellerIdAndTitleContaining(
@@ -0,0 +1,76 @@
+package com.team2.auctionality.repository;
+
+import com.team2.auctionality.model.Category;
+import com.team2.auctionality.model.Product;
+import com.team2.auctionality.model.WatchListItem;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specifications mirroring the filters of the listing queries, used by keyset (cursor) scrolling
+ * where string @Query methods can't be used
+ */
+public class ProductSpecifications {
+
+    /**
+     * Products of a category or of its direct sub-categories (same as ProductRepository.findByCategory)
+     */
+    public static Specification<Product> inCategory(Integer categoryId) {
+        return (root, query, cb) -> {
+            if (categoryId == null) {
+                return null;
+            }
+            Subquery<Integer> categoryIds = query.subquery(Integer.class);
+            Root<Category> category = categoryIds.from(Category.class);
+            categoryIds.select(category.get("id")).where(cb.or(
+                    cb.equal(category.get("id"), categoryId),
+                    cb.equal(category.get("parent").get("id"), categoryId)
+            ));
+            return root.get("category").get("id").in(categoryIds);
+        };
+    }
+
+    /**
+     * Accent/case-insensitive title match, written like ProductRepository.searchProducts so it uses the trigram index
+     */
+    public static Specification<Product> titleContains(String keyword) {
+        return (root, query, cb) -> titleMatches(cb, root.get("title"), keyword);
+    }
+
+    public static Specification<WatchListItem> watchedBy(Integer userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<WatchListItem> watchedInCategory(Integer categoryId) {
+        return (root, query, cb) -> {
+            if (categoryId == null) {
+                return null;
+            }
+            Join<Product, Category> category = root.join("product").join("category", JoinType.LEFT);
+            return cb.or(
+                    cb.equal(category.get("id"), categoryId),
+                    cb.equal(category.get("parent").get("id"), categoryId)
+            );
+        };
+    }
+
+    public static Specification<WatchListItem> watchedTitleContains(String keyword) {
+        return (root, query, cb) -> titleMatches(cb, root.get("product").get("title"), keyword);
+    }
+
+    private static Predicate titleMatches(CriteriaBuilder cb, Path<String> title, String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        Expression<String> normalizedTitle = cb.lower(cb.function("f_unaccent", String.class, title));
+        Expression<String> normalizedKeyword = cb.lower(cb.function("f_unaccent", String.class, cb.literal(keyword)));
+        return cb.like(normalizedTitle, cb.concat(cb.concat("%", normalizedKeyword), "%"));
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -23,5 +25,8 @@ public interface UserRepository extends JpaRepository<User, Integer> {
             "socialLoginAccounts"
     })
     Optional<User> findById(Integer id);
+
+    @EntityGraph(attributePaths = {"profile", "roles"})
+    List<User> findByIdIn(Collection<Integer> ids);
 }
 
@@ -7,6 +7,7 @@ import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,7 +15,7 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
-public interface WatchListItemRepository extends JpaRepository<WatchListItem, Integer> {
+public interface WatchListItemRepository extends JpaRepository<WatchListItem, Integer>, JpaSpecificationExecutor<WatchListItem> {
     Optional<WatchListItem> findByUserAndProduct(User user, Product product);
 
     @Modifying
@@ -29,7 +30,7 @@ public interface WatchListItemRepository extends JpaRepository<WatchListItem, In
             AND (:categoryId IS NULL OR w.product.category.id = :categoryId OR w.product.category.parent.id = :categoryId)
             AND (
                 :keyword IS NULL 
-                OR LOWER(FUNCTION('unaccent', w.product.title)) LIKE LOWER(CONCAT('%', FUNCTION('unaccent', CAST(:keyword AS string)), '%'))
+                OR LOWER(FUNCTION('f_unaccent', w.product.title)) LIKE CONCAT('%', LOWER(FUNCTION('f_unaccent', CAST(:keyword AS string))), '%')
             )
         ORDER BY w.createdAt DESC
         """)
@@ -1,78 +1,100 @@
 package com.team2.auctionality.scheduler;
 
-import com.team2.auctionality.dto.AuctionEndNotificationDto;
-import com.team2.auctionality.enums.ProductStatus;
-import com.team2.auctionality.model.Bid;
-import com.team2.auctionality.model.Order;
-import com.team2.auctionality.model.Product;
-import com.team2.auctionality.repository.BidRepository;
+import com.team2.auctionality.auction.AuctionFinalizationMetrics;
+import com.team2.auctionality.auction.BidSequencer;
 import com.team2.auctionality.repository.ProductRepository;
-import com.team2.auctionality.service.OrderService;
-import com.team2.auctionality.service.PaymentService;
+import com.team2.auctionality.service.AuctionEndMonitoringService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Safety net for the auction closer.
+ * Auctions are normally finalized at their deadline by AuctionCloser; this sweep picks up
+ * stragglers (e.g. deadlines moved on another node, downtime). Expired products are claimed in
+ * bounded batches: FOR UPDATE SKIP LOCKED picks rows no other node is claiming at that moment, and a
+ * lease on the rows (finalization_claimed_until) keeps other replicas' sweeps off the batch while this
+ * node works through it. Each claimed product is finalized in its own transaction on its BidSequencer lane;
+ * the finalization row lock keeps an auction from being closed twice even if a lease expires early.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class AuctionFinalizationScheduler {
+public class AuctionFinalizationScheduler implements InitializingBean, DisposableBean {
 
-    private final ProductRepository productRepository;
-    private final BidRepository bidRepository;
-    private final OrderService orderService;
-    private final PaymentService paymentService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final AuctionEndMonitoringService auctionEndMonitoringService;
+    private final AuctionFinalizationMetrics metrics;
+    private final BidSequencer bidSequencer;
 
-    @Scheduled(fixedRate = 60000)
-    @Transactional
-    public void finalizeExpiredAuctions() {
+    @Value("${app.auction.finalization-batch-size:50}")
+    private int batchSize;
 
-        log.info("Running finalizeExpiredAuctions job");
+    @Value("${app.auction.finalization-threads:4}")
+    private int threads;
 
-        List<Product> expiredProducts =
-                productRepository.findExpiredAndNotOrdered(LocalDateTime.now());
+    private ExecutorService workers;
 
-        for (Product product : expiredProducts) {
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger counter = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "auction-finalizer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
-            // Set expired status for expired Product
-            product.setStatus(ProductStatus.ENDED);
-            productRepository.save(product);
+    @Scheduled(fixedDelayString = "${app.auction.finalization-sweep-ms:300000}")
+    public void finalizeExpiredAuctions() {
 
-            Bid highestBid = bidRepository
-                    .findHighestBid(product.getId())
-                    .orElse(null);
+        log.debug("Running finalizeExpiredAuctions sweep");
 
+        while (true) {
+            List<ProductRepository.ProductDeadline> claimed =
+                    auctionEndMonitoringService.claimExpiredBatch(batchSize);
+            if (claimed.isEmpty()) {
+                return;
+            }
 
-            if (highestBid == null) continue;
+            metrics.recordBatch(claimed.size());
+            log.info("Sweep claimed {} ended auction(s) to finalize", claimed.size());
 
-            Order order = orderService.createOrderForBuyNow(
-                    product,
-                    highestBid.getBidder().getId(),
-                    highestBid.getAmount()
-            );
+            List<CompletableFuture<Boolean>> results = claimed.stream()
+                    .map(deadline -> CompletableFuture.supplyAsync(() -> finalize(deadline), workers))
+                    .toList();
+            long finalized = results.stream().filter(CompletableFuture::join).count();
 
-            // Publish WebSocket notification for auction end
-            AuctionEndNotificationDto notification = AuctionEndNotificationDto.builder()
-                    .productId(product.getId())
-                    .orderId(order.getId())
-                    .buyerId(order.getBuyer().getId())
-                    .sellerId(order.getSeller().getId())
-                    .finalPrice(order.getFinalPrice())
-                    .message("Auction ended! Order created. Please complete your payment.")
-                    .build();
+            // A short batch means the backlog is drained; no progress means the rest is owned
+            // by another node or keeps failing, so leave it to the next sweep
+            if (claimed.size() < batchSize || finalized == 0) {
+                return;
+            }
+        }
+    }
 
-            // Send to product-specific topic
-            messagingTemplate.convertAndSend("/topic/auction-end/" + product.getId(), notification);
-            
-            log.info("Published auction end notification for product {} with order {}", 
-                    product.getId(), order.getId());
+    private boolean finalize(ProductRepository.ProductDeadline deadline) {
+        metrics.recordClaim(deadline.getEndTime());
+        try {
+            return bidSequencer.execute(deadline.getId(), () ->
+                    metrics.timeFinalization(() -> auctionEndMonitoringService.finalizeAuction(deadline.getId())));
+        } catch (Exception e) {
+            log.error("Error finalizing auction {}: {}", deadline.getId(), e.getMessage(), e);
+            return false;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package com.team2.auctionality.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Set;
+
+/**
+ * Principal of a JWT-authenticated request: what the security layer needs about a user
+ * (id, email, status, role and permission authorities), without the entity or its password hash,
+ * so it can be cached across requests (PrincipalCache)
+ */
+public record AuthenticatedUser(Integer id,
+                                String email,
+                                boolean active,
+                                Set<GrantedAuthority> authorities) implements UserDetails {
+
+    @Override
+    public Set<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // Requests carry a token, never a password
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return active;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+}
@@ -1,6 +1,7 @@
 package com.team2.auctionality.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,14 +20,38 @@ import java.util.stream.Collectors;
 
 @Service
 public class JwtService {
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.access-token-expiration:900000}") // 15 minutes default
-    private long accessTokenExpiration;
+    private final long accessTokenExpiration;
+    private final long refreshTokenExpiration;
+
+    // Built once: deriving the key and the parser per call showed up on every authenticated request
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.access-token-expiration:900000}") long accessTokenExpiration, // 15 minutes default
+                      @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration) { // 7 days default
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.signingKey = createSigningKey(secret);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
 
-    @Value("${jwt.refresh-token-expiration:604800000}") // 7 days default
-    private long refreshTokenExpiration;
+    /**
+     * Parse and verify a token once (signature and expiry)
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                token,
+                claims.getSubject(),
+                claims.get("userId", Integer.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
 
     // Extract username (email) from token
     public String extractEmail(String token) {
@@ -51,9 +76,7 @@ public class JwtService {
 
     // Extract all claims from token
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -95,7 +118,7 @@ public class JwtService {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -105,6 +128,11 @@ public class JwtService {
         return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
 
+    // Validate an already verified token against the loaded user
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.email() != null && token.email().equals(userDetails.getUsername()) && !token.isExpired();
+    }
+
     // Validate token without UserDetails (for refresh token validation)
     public Boolean validateToken(String token) {
         try {
@@ -115,7 +143,7 @@ public class JwtService {
     }
 
     // Get signing key from secret
-    private SecretKey getSigningKey() {
+    private static SecretKey createSigningKey(String secret) {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         
         // Validate key length - must be at least 256 bits (32 bytes) for HMAC-SHA
@@ -0,0 +1,74 @@
+package com.team2.auctionality.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team2.auctionality.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Bounded, TTL-based cache of AuthenticatedUser by user id, so JWT requests don't load the user,
+ * its roles and their permissions on every call.
+ * Services that change a user's status, roles or password call evict; other replicas pick the
+ * change up within the TTL (app.auth.principal-cache.ttl-seconds).
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<Integer, AuthenticatedUser> principals;
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.auth.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.auth.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principals");
+    }
+
+    /**
+     * Principal for the user a token was issued to
+     *
+     * @param userId userId claim of the token
+     * @param email  Subject of the token; a cached principal with another email is reloaded
+     */
+    public AuthenticatedUser get(Integer userId, String email) {
+        AuthenticatedUser principal = principals.get(userId, userDetailsService::loadPrincipal);
+        if (!Objects.equals(principal.email(), email)) {
+            principals.invalidate(userId);
+            principal = principals.get(userId, userDetailsService::loadPrincipal);
+        }
+        return principal;
+    }
+
+    /**
+     * Forget a user's principal after its status, roles or password changed.
+     * Inside a transaction it is evicted again after commit, so a request that reloaded it
+     * before the commit can't keep the old state.
+     */
+    public void evict(Integer userId) {
+        principals.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            principals.invalidate(userId);
+                        }
+                    }
+            );
+        }
+    }
+}
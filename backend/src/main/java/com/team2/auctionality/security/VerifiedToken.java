@@ -0,0 +1,23 @@
+package com.team2.auctionality.security;
+
+import java.time.Instant;
+
+/**
+ * A JWT whose signature and expiry JwtService.verify has checked, with the claims the app reads.
+ * The HTTP filter keeps it as a request attribute (ATTRIBUTE), so later consumers
+ * (e.g. RlsSessionVariableService) don't parse the token again.
+ */
+public record VerifiedToken(String token, String email, Integer userId, Instant expiresAt) {
+
+    public static final String ATTRIBUTE = VerifiedToken.class.getName();
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+
+    // Never log the raw token
+    @Override
+    public String toString() {
+        return "VerifiedToken[email=" + email + ", userId=" + userId + ", expiresAt=" + expiresAt + "]";
+    }
+}
@@ -11,6 +11,7 @@ import com.team2.auctionality.mapper.SellerUpgradeRequestMapper;
 import com.team2.auctionality.mapper.UserMapper;
 import com.team2.auctionality.model.*;
 import com.team2.auctionality.repository.*;
+import com.team2.auctionality.security.PrincipalCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +43,7 @@ public class AdminService {
     private final ProductMapper productMapper;
     private final RoleRepository roleRepository;
     private final ProductModerationService productModerationService;
+    private final PrincipalCache principalCache;
 
     // ========== Category Management ==========
 
@@ -166,6 +168,7 @@ public class AdminService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
         user.setStatus(status);
         user = userRepository.save(user);
+        principalCache.evict(userId);
         return UserMapper.toDto(user);
     }
 
@@ -190,6 +193,7 @@ public class AdminService {
         
         // Delete user (cascading will handle related records with ON DELETE CASCADE)
         userRepository.deleteById(userId);
+        principalCache.evict(userId);
         log.info("Successfully deleted user: {}", userId);
     }
 
@@ -227,6 +231,7 @@ public class AdminService {
         if (!user.getRoles().contains(sellerRole)) {
             user.getRoles().add(sellerRole);
         }
+        principalCache.evict(user.getId());
 
 
         return SellerUpgradeRequestMapper.toDto(sellerUpgradeRequestRepository.save(request));
@@ -1,5 +1,7 @@
 package com.team2.auctionality.service;
 
+import com.team2.auctionality.auction.AuctionBookRegistry;
+import com.team2.auctionality.dto.AuctionEndNotificationDto;
 import com.team2.auctionality.email.EmailService;
 import com.team2.auctionality.email.dto.AuctionEndedEmailRequest;
 import com.team2.auctionality.enums.ProductStatus;
@@ -7,21 +9,27 @@ import com.team2.auctionality.model.Bid;
 import com.team2.auctionality.model.Order;
 import com.team2.auctionality.model.Product;
 import com.team2.auctionality.repository.BidRepository;
+import com.team2.auctionality.repository.OrderRepository;
 import com.team2.auctionality.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 /**
- * Service to monitor and handle ended auctions
- * Consolidates auction finalization (order creation) and email notifications
+ * Service to finalize ended auctions
+ * Consolidates auction finalization (order creation), email notifications and the
+ * WebSocket auction-end notification. Each auction is finalized in its own short transaction.
  */
 @Service
 @RequiredArgsConstructor
@@ -30,39 +38,63 @@ public class AuctionEndMonitoringService {
 
     private final ProductRepository productRepository;
     private final BidRepository bidRepository;
+    private final OrderRepository orderRepository;
     private final EmailService emailService;
     private final OrderService orderService;
+    private final AuctionBookRegistry auctionBookRegistry;
+    private final SimpMessagingTemplate messagingTemplate;
 
     @Value("${app.frontend.base-url}")
     private String frontendBaseUrl;
 
+    @Value("${app.auction.finalization-claim-ms:120000}")
+    private long claimMs;
+
+    // Owner recorded on claims ("pid@host"), to tell which node holds a batch
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+
     /**
-     * Check for ended auctions every minute
-     * Processes auctions that have ended but haven't been finalized yet
-     * Handles both order creation and email notifications
+     * Finalize a single auction if it is still active, past its end time and has no order yet.
+     *
+     * @return true if the auction was finalized by this call
      */
-    @Scheduled(fixedRate = 60000) // Run every minute
     @Transactional
-    public void finalizeEndedAuctions() {
-        LocalDateTime now = LocalDateTime.now();
-        log.debug("Checking for ended auctions at {}", now);
-
-        // Find all active products that have ended and don't have orders yet
-        List<Product> endedProducts = productRepository.findExpiredAndNotOrdered(now);
-
-        if (endedProducts.isEmpty()) {
-            return;
+    public boolean finalizeAuction(Integer productId) {
+        // Row lock makes finalization safe across replicas: whoever holds it finalizes, anybody
+        // waiting on it then finds the product no longer ACTIVE and skips
+        Product product = productRepository.lockActiveForFinalization(productId).orElse(null);
+        if (product == null) {
+            return false;
+        }
+        if (product.getEndTime().isAfter(LocalDateTime.now())) {
+            log.debug("Auction {} was extended to {}, not finalizing yet", productId, product.getEndTime());
+            return false;
+        }
+        if (orderRepository.countByProductId(productId) > 0) {
+            return false;
         }
 
-        log.info("Found {} ended auction(s) to process", endedProducts.size());
+        processEndedAuction(product);
+        return true;
+    }
 
-        for (Product product : endedProducts) {
-            try {
-                processEndedAuction(product);
-            } catch (Exception e) {
-                log.error("Error processing ended auction {}: {}", product.getId(), e.getMessage(), e);
-            }
+    /**
+     * Claim the next batch of expired auctions for this node.
+     * The rows are locked (skipping those another node is claiming right now) only until this
+     * transaction commits; the lease written here keeps other nodes' sweeps off them after that,
+     * until they are finalized or the lease expires (a node that died mid-batch).
+     */
+    @Transactional
+    public List<ProductRepository.ProductDeadline> claimExpiredBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductRepository.ProductDeadline> batch = productRepository.lockClaimableExpired(now, batchSize);
+        if (!batch.isEmpty()) {
+            productRepository.claimForFinalization(
+                    batch.stream().map(ProductRepository.ProductDeadline::getId).toList(),
+                    instanceId,
+                    now.plus(Duration.ofMillis(claimMs)));
         }
+        return batch;
     }
 
     /**
@@ -75,6 +107,7 @@ public class AuctionEndMonitoringService {
         // Update product status to expired
         product.setStatus(ProductStatus.ENDED);
         productRepository.save(product);
+        auctionBookRegistry.evict(product.getId());
 
         String productUrl = frontendBaseUrl + "/products/" + product.getId();
 
@@ -92,19 +125,19 @@ public class AuctionEndMonitoringService {
         } else {
             // Has winner - create order and send notifications
             Bid winnerBid = winnerBidOpt.get();
-            
+
             if (winnerBid.getBidder() == null) {
-                log.error("Winner bid {} has null bidder for product {}", 
+                log.error("Winner bid {} has null bidder for product {}",
                         winnerBid.getId(), product.getId());
                 return;
             }
-            
+
             String winnerName = winnerBid.getBidder().getProfile() != null
                     ? winnerBid.getBidder().getProfile().getFullName()
                     : winnerBid.getBidder().getEmail();
             Float finalPrice = winnerBid.getAmount();
 
-            log.info("Auction {} ended with winner: {} (€{})", 
+            log.info("Auction {} ended with winner: {} (€{})",
                     product.getId(), winnerName, finalPrice);
 
             // Create order for the winner
@@ -138,7 +171,32 @@ public class AuctionEndMonitoringService {
                             true
                     )
             );
+
+            publishAuctionEndAfterCommit(product.getId(), order);
         }
     }
-}
 
+    /**
+     * Publish the WebSocket auction-end notification once the order is committed
+     */
+    private void publishAuctionEndAfterCommit(Integer productId, Order order) {
+        AuctionEndNotificationDto notification = AuctionEndNotificationDto.builder()
+                .productId(productId)
+                .orderId(order.getId())
+                .buyerId(order.getBuyer().getId())
+                .sellerId(order.getSeller().getId())
+                .finalPrice(order.getFinalPrice())
+                .message("Auction ended! Order created. Please complete your payment.")
+                .build();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Send to product-specific topic
+                messagingTemplate.convertAndSend("/topic/auction-end." + productId, notification);
+                log.info("Published auction end notification for product {} with order {}",
+                        productId, notification.getOrderId());
+            }
+        });
+    }
+}
@@ -6,6 +6,7 @@ import com.team2.auctionality.exception.*;
 import com.team2.auctionality.model.*;
 import com.team2.auctionality.repository.*;
 import com.team2.auctionality.security.JwtService;
+import com.team2.auctionality.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,6 +43,7 @@ public class AuthService {
     private final EmailService emailService;
     private final RecaptchaService recaptchaService;
     private final AuditLogService auditLogService;
+    private final PrincipalCache principalCache;
 
     @Value("${app.frontend.base-url}")
     private String frontendBaseUrl;
@@ -282,6 +284,7 @@ public class AuthService {
         User user = resetToken.getUser();
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.evict(user.getId());
     }
 
     @Transactional
@@ -302,6 +305,14 @@ public class AuthService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
     }
 
+    /**
+     * Uninitialized proxy of a user; it loads on first access to a field other than the id.
+     * Relies on the request's open EntityManager (spring.jpa.open-in-view, on by default)
+     */
+    public User getUserReference(Integer userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
     public UserDto getCurrentUser(User user) {
         Set<String> roles = user.getRoles().stream()
                 .map(role -> role.getName())
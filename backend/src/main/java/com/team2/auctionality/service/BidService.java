@@ -1,5 +1,6 @@
 package com.team2.auctionality.service;
 
+import com.team2.auctionality.auction.AuctionBookRegistry;
 import com.team2.auctionality.auction.AutoBidEngine;
 import com.team2.auctionality.dto.*;
 import com.team2.auctionality.email.EmailService;
@@ -9,7 +10,6 @@ import com.team2.auctionality.exception.AuctionClosedException;
 import com.team2.auctionality.exception.BidNotAllowedException;
 import com.team2.auctionality.exception.BidPendingApprovalException;
 import com.team2.auctionality.mapper.BidMapper;
-import com.team2.auctionality.mapper.ProductMapper;
 import com.team2.auctionality.model.*;
 import com.team2.auctionality.rabbitmq.BidEventPublisher;
 import com.team2.auctionality.repository.*;
@@ -20,6 +20,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
@@ -40,8 +41,10 @@ public class BidService {
     private final RejectedBidderRepository rejectedBidderRepository;
     private final ProductService productService;
     private final AutoBidEngine autoBidEngine;
+    private final AuctionBookRegistry auctionBookRegistry;
     private final SystemAuctionRuleService systemAuctionRuleService;
     private final UserRepository userRepository;
+    private final HighestBidResolver highestBidResolver;
     private final EmailService emailService;
 
     // RabbitMQ
@@ -61,8 +64,36 @@ public class BidService {
                 .toList();
     }
 
+    /**
+     * Bid history together with the sequence of the last bid-history event it includes.
+     * Read in one repeatable-read transaction so the count and the bids come from the same snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BidHistorySnapshotDto getBidHistorySnapshot(Integer productId) {
+        Product product = productService.getProductById(productId);
+        List<BidHistoryDto> bids = bidRepository.findValidBidsOrderByCreatedAtDesc(productId)
+                .stream()
+                .map(BidMapper::toDto)
+                .toList();
+        return BidHistorySnapshotDto.builder()
+                .productId(productId)
+                .sequence(product.getBidCount() != null ? product.getBidCount() : 0)
+                .bids(bids)
+                .build();
+    }
+
+    /**
+     * Place a bid for a bidder given by id. The bidder is loaded here, in the transaction of the
+     * calling BidSequencer lane, rather than handed over from the request thread.
+     */
     @Transactional(noRollbackFor = BidPendingApprovalException.class)
-    public AutoBidConfig placeBid(User bidder, Integer productId, PlaceBidRequest bidRequest) {
+    public AutoBidConfig placeBid(Integer bidderId, Integer productId, PlaceBidRequest bidRequest) {
+        User bidder = userRepository.findById(bidderId)
+                .orElseThrow(() -> new EntityNotFoundException("Bidder not found"));
+        return placeBid(bidder, productId, bidRequest);
+    }
+
+    private AutoBidConfig placeBid(User bidder, Integer productId, PlaceBidRequest bidRequest) {
         // 1. Check if bidder is in RejectedBidder
         if (rejectedBidderRepository.existsByProductIdAndBidderId(productId, bidder.getId())) {
             log.warn("User " + bidder.getId() + " is rejected.");
@@ -118,7 +149,7 @@ public class BidService {
                 .orElse(null);
 
         if (config == null) {
-            config = autoBidConfigRepository.save(
+            config = auctionBookRegistry.save(
                     AutoBidConfig.builder()
                             .productId(productId)
                             .bidderId(bidder.getId())
@@ -132,25 +163,13 @@ public class BidService {
                         "Your max price is lower than the current auto-bid max price"
                 );
             }
-            // update max price
+            // update max price (write-through to the auction book)
             config.setMaxPrice(bidRequest.getAmount());
-
+            config = auctionBookRegistry.save(config);
         }
         AutoBidResult result = autoBidEngine.recalculate(product.getId());
 
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        List<BidHistoryDto> histories = getBidHistory(productId);
-                        ProductDto productDto = ProductMapper.toDto(product);
-
-                        bidEventPublisher.publishBidHistory(productId, histories);
-                        // Send email notifications
-//                        sendBidNotifications(finalProductForEmail, finalSavedBid);
-                    }
-                }
-        );
+        // New bids are published as bid-appended deltas by the engine after commit
 
         // 6. Save bid
 //        Bid bid = Bid.builder()
@@ -231,8 +250,21 @@ public class BidService {
             } else {
                 product.setCurrentPrice(product.getStartPrice());
             }
-            productService.save(product);
         }
+        // The rejected bidder's bids no longer count towards the leading bid
+        productService.refreshLeadingBid(product);
+        productService.save(product);
+
+        // Their bids also drop out of the visible history, which a delta can't express
+        final long bidSequence = product.getBidCount();
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        bidEventPublisher.publishBidHistoryReset(productId, bidSequence);
+                    }
+                }
+        );
 
         // Send rejection email notification
         String productUrl = frontendBaseUrl + "/products/" + productId;
@@ -273,6 +305,13 @@ public class BidService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public Integer getApprovalProductId(Integer approvalId) {
+        return bidderApprovalRepository.findById(approvalId)
+                .map(BidderApproval::getProductId)
+                .orElseThrow(() -> new EntityNotFoundException("Bidder approval request not found"));
+    }
+
     @Transactional
     public void approveBidderApproval(Integer approvalId, Integer sellerId) {
         log.info("Seller {} approving bidder approval request: {}", sellerId, approvalId);
@@ -378,47 +417,10 @@ public class BidService {
                 });
     }
 
+    /**
+     * Highest bid of a product, resolved the same way as product lists (see HighestBidResolver)
+     */
     public Bid getHighestBidByProductId(Integer productId) {
-        // Check if product has only one autobid config
-        List<AutoBidConfig> autobidConfigs = autoBidConfigRepository.findByProductId(productId);
-        
-        if (autobidConfigs.size() == 1) {
-            // Only one autobid config - that bidder is the highest bidder
-            AutoBidConfig config = autobidConfigs.get(0);
-            User bidder = userRepository.findById(config.getBidderId())
-                    .orElseThrow(() -> new EntityNotFoundException("Bidder not found"));
-            
-            // Try to find existing bid from this bidder for this product
-            List<Bid> bidsByBidder = bidRepository.findByProductIdOrderByCreatedAtDesc(productId)
-                    .stream()
-                    .filter(bid -> bid.getBidder().getId().equals(config.getBidderId()))
-                    .sorted((b1, b2) -> Float.compare(b2.getAmount(), b1.getAmount()))
-                    .toList();
-            
-            if (!bidsByBidder.isEmpty()) {
-                // Return the highest bid from this bidder
-                return bidsByBidder.get(0);
-            }
-            
-            // No existing bid - create a representative Bid object
-            // Use the product's current price as the bid amount
-            Product product = productService.getProductById(productId);
-            Float bidAmount = product.getCurrentPrice() != null 
-                    ? product.getCurrentPrice() 
-                    : product.getStartPrice();
-            
-            // Create a transient Bid object (not persisted) for representation
-            Bid bid = new Bid();
-            bid.setProduct(product);
-            bid.setBidder(bidder);
-            bid.setAmount(bidAmount);
-            bid.setIsAutoBid(true);
-            bid.setCreatedAt(new Date());
-            
-            return bid;
-        }
-        
-        // If 2 or more autobid configs (or 0), use the existing logic
-        return bidRepository.findHighestBid(productId).orElse(null);
+        return highestBidResolver.resolve(productService.getProductById(productId));
     }
 }
@@ -57,8 +57,8 @@ public class ChatMessageService {
         ChatMessage savedMessage = messageRepository.save(message);
         
         // Broadcast message to the order's topic via WebSocket (using orderId, not threadId)
-        // This matches the controller's @SendTo("/topic/chat/{orderId}") pattern
-        messagingTemplate.convertAndSend("/topic/chat/" + orderId, savedMessage);
+        // This matches the controller's @SendTo("/topic/chat.{orderId}") pattern
+        messagingTemplate.convertAndSend("/topic/chat." + orderId, savedMessage);
         
         return savedMessage;
     }
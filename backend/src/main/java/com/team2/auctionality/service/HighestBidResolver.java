@@ -0,0 +1,104 @@
+package com.team2.auctionality.service;
+
+import com.team2.auctionality.model.AutoBidConfig;
+import com.team2.auctionality.model.Bid;
+import com.team2.auctionality.model.Product;
+import com.team2.auctionality.model.User;
+import com.team2.auctionality.repository.AutoBidConfigRepository;
+import com.team2.auctionality.repository.BidRepository;
+import com.team2.auctionality.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the highest bid for a whole list of products at once.
+ * A product with a single auto-bid config is led by that config's bidder: their own highest bid,
+ * or a transient auto bid at the current price if they haven't had to bid yet. Every other product
+ * uses its highest non-rejected bid.
+ * At most four queries regardless of list size: the sole configs, the DISTINCT ON bid lookups and one
+ * fetch of the winning bidders with their profiles, so mapping the bidder info doesn't load users row by row.
+ */
+@Service
+@RequiredArgsConstructor
+public class HighestBidResolver {
+
+    private final BidRepository bidRepository;
+    private final AutoBidConfigRepository autoBidConfigRepository;
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public Map<Integer, Bid> resolve(Collection<Product> products) {
+        Map<Integer, Product> productsById = products.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (first, second) -> first));
+        if (productsById.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, AutoBidConfig> soleConfigs = autoBidConfigRepository.findSoleConfigs(productsById.keySet())
+                .stream()
+                .collect(Collectors.toMap(AutoBidConfig::getProductId, Function.identity()));
+
+        Map<Integer, Bid> highestBids = new HashMap<>();
+        List<Integer> otherProductIds = productsById.keySet().stream()
+                .filter(productId -> !soleConfigs.containsKey(productId))
+                .toList();
+        if (!otherProductIds.isEmpty()) {
+            bidRepository.findHighestBids(otherProductIds)
+                    .forEach(bid -> highestBids.put(bid.getProduct().getId(), bid));
+        }
+        if (!soleConfigs.isEmpty()) {
+            bidRepository.findHighestBidsOfConfigBidders(
+                    soleConfigs.values().stream().map(AutoBidConfig::getId).toList()
+            ).forEach(bid -> highestBids.put(bid.getProduct().getId(), bid));
+        }
+
+        // Pull the bidders into the persistence context so bid.getBidder() proxies resolve without a query each
+        List<Integer> bidderIds = Stream.concat(
+                        highestBids.values().stream().map(bid -> bid.getBidder().getId()),
+                        soleConfigs.values().stream().map(AutoBidConfig::getBidderId))
+                .distinct()
+                .toList();
+        Map<Integer, User> bidders = bidderIds.isEmpty()
+                ? Map.of()
+                : userRepository.findByIdIn(bidderIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        soleConfigs.forEach((productId, config) -> {
+            User bidder = bidders.get(config.getBidderId());
+            if (!highestBids.containsKey(productId) && bidder != null) {
+                highestBids.put(productId, soleBidderBid(productsById.get(productId), bidder));
+            }
+        });
+        return highestBids;
+    }
+
+    @Transactional(readOnly = true)
+    public Bid resolve(Product product) {
+        return resolve(List.of(product)).get(product.getId());
+    }
+
+    /**
+     * Transient (not persisted) bid representing a sole auto bidder that hasn't had to bid yet
+     */
+    private Bid soleBidderBid(Product product, User bidder) {
+        Bid bid = new Bid();
+        bid.setProduct(product);
+        bid.setBidder(bidder);
+        bid.setAmount(product.getCurrentPrice() != null ? product.getCurrentPrice() : product.getStartPrice());
+        bid.setIsAutoBid(true);
+        bid.setCreatedAt(new Date());
+        return bid;
+    }
+}
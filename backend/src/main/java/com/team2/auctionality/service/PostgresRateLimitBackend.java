@@ -0,0 +1,64 @@
+package com.team2.auctionality.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * RateLimitBackend on the rate_limit_bucket table (V6). Each lease is a single UPSERT that runs GCRA
+ * on the row: it grants as many of the wanted tokens as the bucket holds and advances the TAT by them,
+ * using the database clock so replicas with skewed clocks agree.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.distributed.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresRateLimitBackend implements RateLimitBackend {
+
+    // Tokens available = (window - (max(tat, now) - now)) / interval, capped by the wanted batch
+    private static final String GRANTED = """
+            GREATEST(0, LEAST(:batch,
+                (:windowMs - (GREATEST(b.tat_ms, EXCLUDED.refreshed_ms) - EXCLUDED.refreshed_ms)) / :intervalMs))
+            """;
+
+    private static final String LEASE_SQL = """
+            INSERT INTO rate_limit_bucket AS b (identifier, tat_ms, last_granted, refreshed_ms)
+            SELECT :key, c.now_ms + LEAST(:batch, :maxRequests) * :intervalMs, LEAST(:batch, :maxRequests), c.now_ms
+            FROM (SELECT (EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT AS now_ms) c
+            ON CONFLICT (identifier) DO UPDATE SET
+                last_granted = %1$s,
+                tat_ms = GREATEST(b.tat_ms, EXCLUDED.refreshed_ms) + (%1$s) * :intervalMs,
+                refreshed_ms = EXCLUDED.refreshed_ms
+            RETURNING last_granted
+            """.formatted(GRANTED);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public int lease(String key, int maxRequests, int windowSeconds, int batch) {
+        long windowMs = windowSeconds * 1000L;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("batch", batch)
+                .addValue("maxRequests", maxRequests)
+                .addValue("windowMs", windowMs)
+                .addValue("intervalMs", Math.max(1, windowMs / Math.max(1, maxRequests)));
+        Integer granted = jdbcTemplate.queryForObject(LEASE_SQL, params, Integer.class);
+        return granted != null ? granted : 0;
+    }
+
+    /**
+     * A bucket whose TAT is in the past is full again, the same as no row at all
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.distributed.purge-ms:600000}")
+    public void purgeRefilled() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM rate_limit_bucket WHERE tat_ms < (EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT",
+                new MapSqlParameterSource());
+        log.debug("Purged {} refilled rate-limit buckets", deleted);
+    }
+}
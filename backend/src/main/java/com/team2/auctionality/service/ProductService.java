@@ -1,17 +1,21 @@
 package com.team2.auctionality.service;
 
+import com.team2.auctionality.auction.AuctionCloser;
 import com.team2.auctionality.dto.*;
 import com.team2.auctionality.email.EmailService;
 import com.team2.auctionality.email.dto.DescriptionUpdateEmailRequest;
 import com.team2.auctionality.enums.ProductStatus;
 import com.team2.auctionality.exception.AuctionClosedException;
 import com.team2.auctionality.exception.InvalidBidPriceException;
+import com.team2.auctionality.exception.InvalidCursorException;
 import com.team2.auctionality.mapper.BidMapper;
 import com.team2.auctionality.mapper.HighestBidderInfoMapper;
 import com.team2.auctionality.mapper.OrderMapper;
 import com.team2.auctionality.mapper.ProductMapper;
 import com.team2.auctionality.model.*;
 import com.team2.auctionality.repository.*;
+import com.team2.auctionality.util.CursorUtils;
+import com.team2.auctionality.util.PaginationUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +23,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +49,10 @@ public class ProductService {
     private final com.team2.auctionality.repository.ProductImageRepository productImageRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final AuctionCloser auctionCloser;
+
+    private static final String SORT_RELEVANCE = "relevance";
+    private static final Sort NEWEST_FIRST = Sort.by("createdAt").descending();
 
     @Value("${app.frontend.base-url}")
     private String frontendBaseUrl;
@@ -50,19 +61,7 @@ public class ProductService {
     public List<ProductDto> getTop5EndingSoon() {
         return productRepository.findTop5EndingSoon(PageRequest.of(0, 5))
                 .stream()
-                .map(product -> {
-                    Integer id = product.getId();
-
-                    // Get the highest bid
-                    Bid highestBid = bidRepository
-                            .findHighestBid(id)
-                            .orElse(null);
-
-                    return ProductMapper.toDto(
-                            product,
-                            highestBid
-                    );
-                })
+                .map(ProductMapper::toListingDto)
                 .toList();
     }
 
@@ -71,12 +70,7 @@ public class ProductService {
         return productRepository.findTop5MostBid(PageRequest.of(0, 5))
                 .stream()
                 .map(product -> {
-                    // Get the highest bid
-                    Bid highestBid = bidRepository
-                            .findHighestBid(product.getId())
-                            .orElse(null);
-                    // Count bids for this product
-                    long bidCount = product.getBids() != null ? product.getBids().size() : 0;
+                    long bidCount = product.getBidCount() != null ? product.getBidCount() : 0;
                     return new ProductTopMostBidDto(
                             product.getId(),
                             product.getTitle(),
@@ -93,7 +87,7 @@ public class ProductService {
                             product.getCategory(),
                             product.getImages(),
                             bidCount,
-                            HighestBidderInfoMapper.toDto(highestBid)
+                            HighestBidderInfoMapper.fromSnapshot(product)
                     );
                 })
                 .toList();
@@ -103,19 +97,7 @@ public class ProductService {
     public List<ProductDto> getTop5HighestPrice() {
         return productRepository.findTop5HighestPrice(PageRequest.of(0, 5))
                 .stream()
-                .map(product -> {
-                    Integer id = product.getId();
-
-                    // Get the highest bid
-                    Bid highestBid = bidRepository
-                            .findHighestBid(id)
-                            .orElse(null);
-
-                    return ProductMapper.toDto(
-                            product,
-                            highestBid
-                    );
-                })
+                .map(ProductMapper::toListingDto)
                 .toList();
     }
 
@@ -124,19 +106,7 @@ public class ProductService {
 
         Page<Product> productPage = productRepository.findByCategory(categoryId, pageable);
 
-        return productPage.map(product -> {
-            Integer id = product.getId();
-
-            // Get the highest bid
-            Bid highestBid = bidRepository
-                    .findHighestBid(id)
-                    .orElse(null);
-
-            return ProductMapper.toDto(
-                    product,
-                    highestBid
-            );
-        });
+        return productPage.map(ProductMapper::toListingDto);
     }
 
     @Transactional(readOnly = true)
@@ -146,6 +116,13 @@ public class ProductService {
             Pageable pageable,
             String sort
     ) {
+        // Relevance only means something with a keyword; otherwise fall back to the default order
+        if (SORT_RELEVANCE.equals(sort) && keyword != null && !keyword.isBlank()) {
+            return productRepository
+                    .searchProductsByRelevance(keyword, categoryId, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                    .map(ProductMapper::toListingDto);
+        }
+
         Pageable sortedPageable = PageRequest.of(
                 pageable.getPageNumber(),
                 pageable.getPageSize(),
@@ -154,19 +131,7 @@ public class ProductService {
 
         Page<Product> products = productRepository.searchProducts(keyword, categoryId, sortedPageable);
 
-        return products.map(product -> {
-            Integer id = product.getId();
-
-            // Get the highest bid
-            Bid highestBid = bidRepository
-                    .findHighestBid(id)
-                    .orElse(null);
-
-            return ProductMapper.toDto(
-                    product,
-                    highestBid
-            );
-        });
+        return products.map(ProductMapper::toListingDto);
     }
 
     private Sort getSort(String sortKey) {
@@ -183,19 +148,55 @@ public class ProductService {
     public Page<ProductDto> getAllProducts(Pageable pageable) {
         return productRepository
                 .findAll(pageable)
-                .map(product -> {
-                    Integer id = product.getId();
+                .map(ProductMapper::toListingDto);
+    }
 
-                    // Get highest bid
-                    Bid highestBid = bidRepository
-                            .findHighestBid(id)
-                            .orElse(null);
+    // ==== CURSOR (KEYSET) PAGINATION ====
+    // Slices are sorted by the requested keys plus id and continue after the cursor's row,
+    // so there is no OFFSET and no COUNT query at any depth
 
-                    return ProductMapper.toDto(
-                            product,
-                            highestBid
-                    );
-                });
+    @Transactional(readOnly = true)
+    public Window<ProductDto> scrollAllProducts(String cursor, int size) {
+        return scrollProducts(Specification.unrestricted(), NEWEST_FIRST, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<ProductDto> scrollProductsByCategory(Integer categoryId, String cursor, int size) {
+        return scrollProducts(ProductSpecifications.inCategory(categoryId), NEWEST_FIRST, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<ProductDto> scrollSearchProducts(String keyword, Integer categoryId, String sort, String cursor, int size) {
+        if (SORT_RELEVANCE.equals(sort)) {
+            throw new InvalidCursorException("Relevance sort is not available with cursor paging");
+        }
+        Specification<Product> spec = ProductSpecifications.inCategory(categoryId)
+                .and(ProductSpecifications.titleContains(keyword));
+        return scrollProducts(spec, getScrollSort(sort), cursor, size);
+    }
+
+    /**
+     * Like getSort, but price sorts use the non-null effective price so every row has a comparable key
+     */
+    private Sort getScrollSort(String sortKey) {
+        return switch (sortKey) {
+            case "priceAsc" -> Sort.by("effectivePrice").ascending();
+            case "priceDesc" -> Sort.by("effectivePrice").descending();
+            default -> getSort(sortKey);
+        };
+    }
+
+    private Window<ProductDto> scrollProducts(Specification<Product> spec, Sort sort, String cursor, int size) {
+        ScrollPosition position = CursorUtils.decode(cursor, sort);
+        // Break ties by id in the same direction, so the (key, id) indexes can be scanned in order
+        Sort.Direction direction = sort.iterator().next().getDirection();
+        Sort keysetSort = sort.and(Sort.by(direction, "id"));
+        return productRepository
+                .findBy(spec, query -> query
+                        .sortBy(keysetSort)
+                        .limit(PaginationUtils.validateSize(size))
+                        .scroll(position))
+                .map(ProductMapper::toListingDto);
     }
 
     @Transactional
@@ -216,6 +217,7 @@ public class ProductService {
                 .build();
 
         Product addedProduct = productRepository.save(product);
+        auctionCloser.scheduleAfterCommit(addedProduct.getId(), addedProduct.getEndTime());
 
         // Create product images
         if (productDto.getImages() != null && !productDto.getImages().isEmpty()) {
@@ -347,6 +349,7 @@ public class ProductService {
         }
         
         Product updatedProduct = productRepository.save(product);
+        auctionCloser.scheduleAfterCommit(productId, updatedProduct.getEndTime());
 
         // Get highest bid
         Bid highestBid = bidRepository
@@ -398,6 +401,36 @@ public class ProductService {
         productRepository.save(product);
     }
 
+    /**
+     * Point the product's leading-bid snapshot at a newly placed bid.
+     * Must run in the transaction that saves the bid so the snapshot never drifts from the bid table
+     */
+    public void applyLeadingBid(Product product, Bid bid) {
+        setLeadingBid(product, bid.getBidder(), bid.getAmount());
+        product.setBidCount(product.getBidCount() != null ? product.getBidCount() + 1 : 1);
+    }
+
+    /**
+     * Rebuild the leading-bid snapshot from the bid table, e.g. after the leader was rejected
+     */
+    public void refreshLeadingBid(Product product) {
+        Bid highestBid = bidRepository.findHighestBid(product.getId()).orElse(null);
+        if (highestBid != null && highestBid.getBidder() != null) {
+            setLeadingBid(product, highestBid.getBidder(), highestBid.getAmount());
+        } else {
+            setLeadingBid(product, null, null);
+        }
+        product.setBidCount((int) bidRepository.countByProductId(product.getId()));
+    }
+
+    private static void setLeadingBid(Product product, User bidder, Float amount) {
+        product.setLeadingBidderId(bidder != null ? bidder.getId() : null);
+        product.setLeadingBidderName(bidder != null && bidder.getProfile() != null
+                ? bidder.getProfile().getFullName()
+                : null);
+        product.setLeadingBidAmount(amount);
+    }
+
     @Transactional(readOnly = true)
     public List<Product> getAuctionProductsByUser(Integer userId) {
         return productRepository.findProductsUserHasBidOn(userId);
@@ -471,19 +504,7 @@ public class ProductService {
     public List<ProductDto> getRelatedProducts(Integer productId, Integer categoryId) {
         return productRepository.findRelatedProducts(categoryId, productId, PageRequest.of(0, 5))
                 .stream()
-                .map(product -> {
-                    Integer id = product.getId();
-
-                    // Get the highest bid
-                    Bid highestBid = bidRepository
-                            .findHighestBid(id)
-                            .orElse(null);
-
-                    return ProductMapper.toDto(
-                            product,
-                            highestBid
-                    );
-                })
+                .map(ProductMapper::toListingDto)
                 .toList();
     }
 
@@ -496,19 +517,7 @@ public class ProductService {
             productPage = productRepository.findBySellerId(sellerId, pageable);
         }
         
-        return productPage.map(product -> {
-            Integer id = product.getId();
-
-            // Get the highest bid
-            Bid highestBid = bidRepository
-                    .findHighestBid(id)
-                    .orElse(null);
-
-            return ProductMapper.toDto(
-                    product,
-                    highestBid
-            );
-        });
+        return productPage.map(ProductMapper::toListingDto);
     }
 
     public static void checkIsAmountAvailable(Float amount, Float step, Float currentPrice) {
@@ -521,7 +530,7 @@ public class ProductService {
     }
 
     @Transactional
-    public OrderDto buyNow(Integer productId, User buyer) {
+    public OrderDto buyNow(Integer productId, Integer buyerId) {
         Product product = getProductById(productId);
         LocalDateTime now = LocalDateTime.now();
 
@@ -540,7 +549,7 @@ public class ProductService {
         }
 
         // Validate buyer is not the seller
-        if (product.getSeller().getId().equals(buyer.getId())) {
+        if (product.getSeller().getId().equals(buyerId)) {
             throw new IllegalArgumentException("You cannot buy your own product");
         }
 
@@ -548,16 +557,17 @@ public class ProductService {
         product.setStatus(ProductStatus.ENDED);
         product.setEndTime(now);
         productRepository.save(product);
+        auctionCloser.cancel(productId);
 
         // Create order
         Order order = orderService.createOrderForBuyNow(
                 product,
-                buyer.getId(),
+                buyerId,
                 product.getBuyNowPrice()
         );
 
         log.info("Buy now completed for product {} by user {}, order {} created", 
-                productId, buyer.getId(), order.getId());
+                productId, buyerId, order.getId());
 
         return OrderMapper.toDto(order);
     }
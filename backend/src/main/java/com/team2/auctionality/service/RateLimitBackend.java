@@ -0,0 +1,19 @@
+package com.team2.auctionality.service;
+
+/**
+ * Shared token store behind the cluster-wide rate limiter. Replicas take tokens in batches and
+ * spend them locally, so the store is only hit once per batch.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Atomically take up to batch tokens from the shared bucket of a key
+     *
+     * @param key           Bucket key (identifier and limit)
+     * @param maxRequests   Bucket capacity, requests per window
+     * @param windowSeconds Window the capacity refills over
+     * @param batch         Tokens wanted
+     * @return Tokens granted, 0 if the bucket is empty
+     */
+    int lease(String key, int maxRequests, int windowSeconds, int batch);
+}
@@ -1,22 +1,68 @@
 package com.team2.auctionality.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team2.auctionality.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Simple in-memory rate limiting service
- * Uses sliding window algorithm
+ * Uses GCRA (generic cell rate algorithm, an exact token bucket): per identifier and limit only the
+ * theoretical arrival time (TAT) of the next request is stored, as one long updated with CAS.
+ * maxRequests per windowSeconds means one request per window/maxRequests, with bursts up to maxRequests.
+ * The store is bounded (rate-limit.max-keys) and forgets idle identifiers (rate-limit.idle-expiry-seconds);
+ * its size and evictions are exported as the cache.* meters of cache "rate-limit.store".
+ * <p>
+ * With rate-limit.distributed.enabled the limit holds across replicas: the GCRA state lives in a
+ * shared RateLimitBackend, and each replica leases small batches of tokens from it and spends them
+ * locally, so most requests never leave the process. If the backend fails, limits fall back to per instance.
  */
 @Service
 @Slf4j
 public class RateLimitService {
 
-    // Key: identifier (user ID or IP), Value: queue of request timestamps
-    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<Long>> rateLimitStore = new ConcurrentHashMap<>();
+    // Key: bucketKey (identifier - user ID or IP - and limit), Value: theoretical arrival time in System.nanoTime() units
+    private final Cache<String, AtomicLong> rateLimitStore;
+
+    // Distributed mode only; key: bucketKey, value: tokens leased from the backend and not yet spent
+    private final RateLimitBackend backend;
+    private final Cache<String, Lease> leases;
+    private final int leaseBatch;
+    private final long leaseTtlNanos;
+    private volatile boolean backendFailing;
+
+    public RateLimitService(RateLimitProperties properties,
+                            MeterRegistry meterRegistry,
+                            Optional<RateLimitBackend> backend) {
+        this.rateLimitStore = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                // Once idle for a full window the state equals a fresh one, so expiring it is lossless
+                .expireAfterAccess(Duration.ofSeconds(properties.getIdleExpirySeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rateLimitStore, "rate-limit.store");
+
+        this.backend = backend.orElse(null);
+        this.leaseBatch = Math.max(1, properties.getDistributed().getLeaseBatch());
+        this.leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getDistributed().getLeaseTtlMs());
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(Duration.ofSeconds(properties.getIdleExpirySeconds()))
+                .recordStats()
+                .build();
+        if (this.backend != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, leases, "rate-limit.leases");
+        }
+    }
 
     /**
      * Check if request should be allowed
@@ -26,51 +72,164 @@ public class RateLimitService {
      * @return true if allowed, false if rate limited
      */
     public boolean isAllowed(String identifier, int maxRequests, int windowSeconds) {
-        long now = Instant.now().getEpochSecond();
-        long windowStart = now - windowSeconds;
-
-        // Get or create queue for this identifier
-        ConcurrentLinkedQueue<Long> requestTimestamps = rateLimitStore.computeIfAbsent(
-            identifier,
-            k -> new ConcurrentLinkedQueue<>()
-        );
-
-        // Remove requests outside the window
-        requestTimestamps.removeIf(timestamp -> timestamp < windowStart);
-
-        // Check if we can add a new request
-        if (requestTimestamps.size() >= maxRequests) {
-            log.warn("Rate limit exceeded for identifier: {} ({} requests in {} seconds)", 
-                    identifier, requestTimestamps.size(), windowSeconds);
-            return false;
+        return backend != null
+                ? isAllowedShared(identifier, maxRequests, windowSeconds)
+                : isAllowedLocal(bucketKey(identifier, maxRequests, windowSeconds), maxRequests, windowSeconds);
+    }
+
+    private boolean isAllowedLocal(String key, int maxRequests, int windowSeconds) {
+        long now = System.nanoTime();
+        long window = TimeUnit.SECONDS.toNanos(windowSeconds);
+        long interval = window / Math.max(1, maxRequests);
+
+        AtomicLong tat = rateLimitStore.getIfPresent(key);
+        if (tat == null) {
+            // Oldest possible TAT: a new bucket starts full
+            tat = rateLimitStore.get(key, k -> new AtomicLong(Long.MIN_VALUE));
         }
 
-        // Add current request
-        requestTimestamps.offer(now);
-        return true;
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            // The bucket holds maxRequests: reject once the TAT would run more than a window ahead
+            // (RateLimitFilter logs the rejection)
+            if (next - now > window) {
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Spend a locally leased token; when none are left, lease the next batch from the shared bucket.
+     * Leasing is serialized per bucket, so concurrent requests of one identifier cause a single round trip.
+     */
+    private boolean isAllowedShared(String identifier, int maxRequests, int windowSeconds) {
+        String key = bucketKey(identifier, maxRequests, windowSeconds);
+        long now = System.nanoTime();
+        Lease lease = leases.get(key, k -> new Lease(now));
+        if (lease.tryTake(now)) {
+            return true;
+        }
+
+        synchronized (lease) {
+            // Another request may have refilled the lease while this one waited
+            if (lease.tryTake(now)) {
+                return true;
+            }
+            // The shared bucket was empty a moment ago; don't ask again before a token can have refilled
+            if (now - lease.retryAt < 0) {
+                return false;
+            }
+
+            long interval = TimeUnit.SECONDS.toNanos(windowSeconds) / Math.max(1, maxRequests);
+            // Small limits get small batches, otherwise one replica could hold the whole bucket
+            int batch = Math.min(leaseBatch, Math.max(1, maxRequests / 10));
+            int granted;
+            try {
+                granted = backend.lease(key, maxRequests, windowSeconds, batch);
+                if (backendFailing) {
+                    backendFailing = false;
+                    log.info("Shared rate-limit backend recovered, limits are cluster-wide again");
+                }
+            } catch (RuntimeException e) {
+                if (!backendFailing) {
+                    backendFailing = true;
+                    log.warn("Shared rate-limit backend failed, limiting per instance: {}", e.getMessage());
+                }
+                return isAllowedLocal(key, maxRequests, windowSeconds);
+            }
+
+            if (granted <= 0) {
+                lease.retryAt = now + interval;
+                return false;
+            }
+            // This request takes the first of the granted tokens
+            lease.refill(granted - 1, now + leaseTtlNanos);
+            return true;
+        }
     }
 
     /**
      * Get remaining requests for an identifier
+     * (in distributed mode: tokens this replica still holds for it)
      */
     public int getRemainingRequests(String identifier, int maxRequests, int windowSeconds) {
-        ConcurrentLinkedQueue<Long> requestTimestamps = rateLimitStore.get(identifier);
-        
-        if (requestTimestamps == null) {
+        if (backend != null) {
+            Lease lease = leases.getIfPresent(bucketKey(identifier, maxRequests, windowSeconds));
+            return lease != null ? lease.remaining(System.nanoTime()) : maxRequests;
+        }
+
+        AtomicLong tat = rateLimitStore.getIfPresent(bucketKey(identifier, maxRequests, windowSeconds));
+
+        if (tat == null) {
             return maxRequests;
         }
 
-        long now = Instant.now().getEpochSecond();
-        long windowStart = now - windowSeconds;
-        requestTimestamps.removeIf(timestamp -> timestamp < windowStart);
-        
-        return Math.max(0, maxRequests - requestTimestamps.size());
+        long now = System.nanoTime();
+        long window = TimeUnit.SECONDS.toNanos(windowSeconds);
+        long interval = window / Math.max(1, maxRequests);
+        long used = Math.max(tat.get(), now) - now;
+
+        return (int) Math.max(0, Math.min(maxRequests, (window - used) / interval));
     }
 
     /**
      * Clear rate limit data for an identifier (useful for testing)
      */
     public void clear(String identifier) {
-        rateLimitStore.remove(identifier);
+        String prefix = identifier + "|";
+        rateLimitStore.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        leases.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Buckets are per identifier and limit, since one identifier is limited by several rules
+     */
+    private static String bucketKey(String identifier, int maxRequests, int windowSeconds) {
+        return identifier + "|" + maxRequests + ":" + windowSeconds;
+    }
+
+    /**
+     * Tokens leased from the shared bucket. Spending is lock-free; refills happen under the lease's monitor.
+     */
+    private static final class Lease {
+        private final AtomicInteger tokens = new AtomicInteger();
+        // System.nanoTime() after which unspent tokens are void
+        private volatile long expiresAt;
+        // Guarded by the lease's monitor
+        private long retryAt;
+
+        Lease(long now) {
+            this.expiresAt = now;
+            this.retryAt = now;
+        }
+
+        boolean tryTake(long now) {
+            if (now - expiresAt >= 0) {
+                return false;
+            }
+            while (true) {
+                int current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void refill(int granted, long expiresAt) {
+            // Expiry first: a reader seeing the new tokens also sees the new expiry
+            this.expiresAt = expiresAt;
+            tokens.set(granted);
+        }
+
+        int remaining(long now) {
+            return now - expiresAt >= 0 ? 0 : Math.max(0, tokens.get());
+        }
     }
 }
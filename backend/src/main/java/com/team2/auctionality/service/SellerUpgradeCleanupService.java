@@ -7,6 +7,7 @@ import com.team2.auctionality.model.User;
 import com.team2.auctionality.repository.RoleRepository;
 import com.team2.auctionality.repository.SellerUpgradeRequestRepository;
 import com.team2.auctionality.repository.UserRepository;
+import com.team2.auctionality.security.PrincipalCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,7 @@ public class SellerUpgradeCleanupService {
     private final SellerUpgradeRequestRepository requestRepository;
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Transactional
     public void cleanupExpiredApprovals() {
@@ -72,6 +74,7 @@ public class SellerUpgradeCleanupService {
             }
 
             userRepository.save(user);
+            principalCache.evict(user.getId());
 
             // delete upgrade seller request approval
             requestRepository.delete(request);
@@ -0,0 +1,176 @@
+package com.team2.auctionality.service;
+
+import com.team2.auctionality.dto.ProductDto;
+import com.team2.auctionality.dto.ProductTopMostBidDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory read model behind the homepage top lists (ending soon, most bid, highest price).
+ * Readers only get the current immutable snapshot; it is rebuilt in the background when
+ * price / bid events may have changed the lists, when an ending-soon auction passes its end time,
+ * or after max-staleness (covers changes this node never sees, e.g. new products, other replicas).
+ * Prices and bid counts of listed products are patched in place as events arrive.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopProductsReadModel {
+
+    private static final int TOP_N = 5;
+
+    private final ProductService productService;
+
+    @Value("${app.top-products.max-staleness-ms:60000}")
+    private long maxStalenessMs;
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Current snapshot; its version changes whenever any list content changes
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current == Snapshot.EMPTY ? rebuild() : current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.top-products.check-ms:1000}")
+    public void refreshIfNeeded() {
+        Snapshot current = snapshot;
+        LocalDateTime now = LocalDateTime.now();
+        boolean endingSoonExpired = current.endingSoon().stream()
+                .anyMatch(product -> product.getEndTime() != null && !product.getEndTime().isAfter(now));
+        boolean stale = System.currentTimeMillis() - current.builtAt() >= maxStalenessMs;
+
+        if (dirty.getAndSet(false) || endingSoonExpired || stale) {
+            rebuild();
+        }
+    }
+
+    /**
+     * A product's price changed (ProductPriceUpdatedEvent)
+     */
+    public synchronized void onPriceUpdated(Integer productId, Float newPrice) {
+        Snapshot current = snapshot;
+        List<ProductDto> endingSoon = patchPrice(current.endingSoon(), productId, newPrice);
+        List<ProductDto> highestPrice = patchPrice(current.highestPrice(), productId, newPrice).stream()
+                .sorted(Comparator.comparing(ProductDto::getCurrentPrice, Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+        List<ProductTopMostBidDto> mostBid = current.mostBid().stream()
+                .map(product -> Objects.equals(product.getId(), productId)
+                        ? product.toBuilder().currentPrice(newPrice).build()
+                        : product)
+                .toList();
+
+        boolean listed = isListed(current, productId);
+        // The leading bidder changed too and the price may push the product into the highest-price list
+        if (listed || couldEnter(current.highestPrice().stream().map(ProductDto::getCurrentPrice).toList(), newPrice)) {
+            dirty.set(true);
+        }
+        if (listed) {
+            publish(current, endingSoon, mostBid, highestPrice);
+        }
+    }
+
+    /**
+     * A product's bid count changed (BidHistoryEvent sequence)
+     */
+    public synchronized void onBidCountChanged(Integer productId, int bidCount) {
+        Snapshot current = snapshot;
+        boolean inMostBid = current.mostBid().stream().anyMatch(product -> Objects.equals(product.getId(), productId));
+
+        if (inMostBid) {
+            List<ProductTopMostBidDto> mostBid = current.mostBid().stream()
+                    .map(product -> Objects.equals(product.getId(), productId)
+                            ? product.toBuilder().bidCount(bidCount).build()
+                            : product)
+                    .sorted(Comparator.comparing(ProductTopMostBidDto::getBidCount, Comparator.nullsLast(Comparator.reverseOrder())))
+                    .toList();
+            publish(current, current.endingSoon(), mostBid, current.highestPrice());
+        } else if (couldEnter(current.mostBid().stream().map(ProductTopMostBidDto::getBidCount).toList(), bidCount)) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Force a rebuild on the next check (e.g. an auction was closed by buy now)
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    private synchronized Snapshot rebuild() {
+        try {
+            snapshot = new Snapshot(
+                    versions.incrementAndGet(),
+                    System.currentTimeMillis(),
+                    productService.getTop5EndingSoon(),
+                    productService.getTop5MostBid(),
+                    productService.getTop5HighestPrice()
+            );
+            log.debug("Rebuilt top products read model, version {}", snapshot.version());
+        } catch (Exception e) {
+            // Keep serving the previous snapshot and retry on the next check
+            log.error("Error rebuilding top products read model: {}", e.getMessage(), e);
+            dirty.set(true);
+        }
+        return snapshot;
+    }
+
+    private void publish(Snapshot current,
+                         List<ProductDto> endingSoon,
+                         List<ProductTopMostBidDto> mostBid,
+                         List<ProductDto> highestPrice) {
+        snapshot = new Snapshot(versions.incrementAndGet(), current.builtAt(), endingSoon, mostBid, highestPrice);
+    }
+
+    private static List<ProductDto> patchPrice(List<ProductDto> products, Integer productId, Float newPrice) {
+        return products.stream()
+                .map(product -> Objects.equals(product.getId(), productId)
+                        ? product.toBuilder().currentPrice(newPrice).build()
+                        : product)
+                .toList();
+    }
+
+    private static boolean isListed(Snapshot snapshot, Integer productId) {
+        return snapshot.endingSoon().stream().anyMatch(product -> Objects.equals(product.getId(), productId))
+                || snapshot.highestPrice().stream().anyMatch(product -> Objects.equals(product.getId(), productId))
+                || snapshot.mostBid().stream().anyMatch(product -> Objects.equals(product.getId(), productId));
+    }
+
+    private static <T extends Comparable<T>> boolean couldEnter(List<T> rankedValues, T value) {
+        if (rankedValues.size() < TOP_N) {
+            return true;
+        }
+        T last = rankedValues.getLast();
+        return value != null && (last == null || value.compareTo(last) > 0);
+    }
+
+    public record Snapshot(long version,
+                           long builtAt,
+                           List<ProductDto> endingSoon,
+                           List<ProductTopMostBidDto> mostBid,
+                           List<ProductDto> highestPrice) {
+
+        static final Snapshot EMPTY = new Snapshot(0, 0, List.of(), List.of(), List.of());
+    }
+}
@@ -4,6 +4,7 @@ import com.team2.auctionality.model.Permission;
 import com.team2.auctionality.model.Role;
 import com.team2.auctionality.model.User;
 import com.team2.auctionality.repository.UserRepository;
+import com.team2.auctionality.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,6 +40,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .build();
     }
 
+    /**
+     * Principal of a JWT-authenticated request (cached by PrincipalCache)
+     */
+    @Transactional(readOnly = true)
+    public AuthenticatedUser loadPrincipal(Integer userId) throws UsernameNotFoundException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getStatus().equals("active"),
+                Set.copyOf(getAuthorities(user))
+        );
+    }
+
     // Build authorities from roles and permissions
     private Collection<? extends GrantedAuthority> getAuthorities(User user) {
         return user.getRoles().stream()
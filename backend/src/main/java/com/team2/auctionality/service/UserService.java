@@ -9,6 +9,7 @@ import com.team2.auctionality.exception.SellerUpgradeBadRequestException;
 import com.team2.auctionality.mapper.UserMapper;
 import com.team2.auctionality.model.*;
 import com.team2.auctionality.repository.*;
+import com.team2.auctionality.security.PrincipalCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,7 @@ public class UserService {
     private final OrderService orderService;
     private final PasswordEncoder passwordEncoder;
     private final UserProfileRepository userProfileRepository;
+    private final PrincipalCache principalCache;
 
     @Transactional(readOnly = true)
     public User getUserById(Integer userId) {
@@ -112,6 +114,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        principalCache.evict(user.getId());
 
         return sellerUpgradeRequestRepository.save(request);
     }
@@ -241,6 +244,12 @@ public class UserService {
         return watchListItemService.getWatchListWithFilters(user, keyword, categoryId, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public org.springframework.data.domain.Window<WatchListItemDto> scrollWatchListWithFilters(
+            User user, String keyword, Integer categoryId, String cursor, int size) {
+        return watchListItemService.scrollWatchListWithFilters(user, keyword, categoryId, cursor, size);
+    }
+
     @Transactional
     public UserDto updateProfile(User user, UpdateProfileRequest request) {
         log.info("User {} updating profile", user.getId());
@@ -287,6 +296,7 @@ public class UserService {
         // Update password
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.evict(user.getId());
     }
 
     @Transactional(readOnly = true)
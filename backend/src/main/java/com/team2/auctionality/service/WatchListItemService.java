@@ -3,18 +3,28 @@ package com.team2.auctionality.service;
 import com.team2.auctionality.dto.WatchListItemDto;
 import com.team2.auctionality.exception.WatchListAlreadyExistsException;
 import com.team2.auctionality.mapper.WatchListItemMapper;
+import com.team2.auctionality.model.Bid;
 import com.team2.auctionality.model.User;
 import com.team2.auctionality.model.WatchListItem;
+import com.team2.auctionality.repository.ProductSpecifications;
 import com.team2.auctionality.repository.WatchListItemRepository;
+import com.team2.auctionality.util.CursorUtils;
+import com.team2.auctionality.util.PaginationUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,6 +35,9 @@ public class WatchListItemService {
 
     private final WatchListItemRepository watchListItemRepository;
     private final WatchListItemMapper watchListItemMapper;
+    private final HighestBidResolver highestBidResolver;
+
+    private static final Sort NEWEST_FIRST = Sort.by("createdAt").descending();
 
     @Transactional
     public WatchListItem createWatchListItem(WatchListItem watchListItem) {
@@ -57,9 +70,7 @@ public class WatchListItemService {
     @Transactional(readOnly = true)
     public List<WatchListItemDto> getWatchList(User user) {
         List<WatchListItem> watchListItems = watchListItemRepository.findByUser(user);
-        return watchListItems.stream()
-                .map(watchListItemMapper::toDto)
-                .collect(Collectors.toList());
+        return toDtos(watchListItems);
     }
 
     @Transactional(readOnly = true)
@@ -70,6 +81,35 @@ public class WatchListItemService {
                 categoryId,
                 pageable
         );
-        return watchListItems.map(watchListItemMapper::toDto);
+        return new PageImpl<>(toDtos(watchListItems.getContent()), watchListItems.getPageable(), watchListItems.getTotalElements());
+    }
+
+    /**
+     * Cursor (keyset) variant of getWatchListWithFilters: newest first, no OFFSET and no COUNT
+     */
+    @Transactional(readOnly = true)
+    public Window<WatchListItemDto> scrollWatchListWithFilters(User user, String keyword, Integer categoryId, String cursor, int size) {
+        Specification<WatchListItem> spec = ProductSpecifications.watchedBy(user.getId())
+                .and(ProductSpecifications.watchedInCategory(categoryId))
+                .and(ProductSpecifications.watchedTitleContains(keyword));
+        ScrollPosition position = CursorUtils.decode(cursor, NEWEST_FIRST);
+
+        Window<WatchListItem> watchListItems = watchListItemRepository.findBy(spec, query -> query
+                .sortBy(NEWEST_FIRST)
+                .limit(PaginationUtils.validateSize(size))
+                .scroll(position));
+        return Window.from(toDtos(watchListItems.getContent()), watchListItems::positionAt, watchListItems.hasNext());
+    }
+
+    /**
+     * Map a list of items resolving all highest bids in one lookup
+     */
+    private List<WatchListItemDto> toDtos(List<WatchListItem> watchListItems) {
+        Map<Integer, Bid> highestBids = highestBidResolver.resolve(
+                watchListItems.stream().map(WatchListItem::getProduct).toList()
+        );
+        return watchListItems.stream()
+                .map(item -> watchListItemMapper.toDto(item, highestBids.get(item.getProduct().getId())))
+                .collect(Collectors.toList());
     }
 }
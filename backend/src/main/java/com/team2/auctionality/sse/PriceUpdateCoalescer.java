@@ -0,0 +1,102 @@
+package com.team2.auctionality.sse;
+
+import com.team2.auctionality.config.SseProperties;
+import com.team2.auctionality.dto.ProductPriceUpdatedEvent;
+import com.team2.auctionality.service.TopProductsReadModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-product coalescing of price updates. The first update of a product opens a window;
+ * updates arriving within it only replace the new price, and when it closes one update goes out
+ * with the latest price and the previous price from the start of the window.
+ * Proxy-bid wars produce bursts of intermediate prices nobody needs to see.
+ * <p>
+ * Bid-appended events are not delayed, so BidHistoryEventListener flushes the product's open window
+ * before sending one: a client never gets an older coalesced price after a newer bid. Price and bid
+ * events travel on separate queues, so the price of a bid may still arrive up to one window after it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceUpdateCoalescer implements InitializingBean, DisposableBean {
+
+    private final SseEmitterManager emitterManager;
+    private final TopProductsReadModel topProductsReadModel;
+    private final SseProperties properties;
+    private final SseMetrics metrics;
+
+    private final Map<Integer, Window> windows = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    private static final class Window {
+        private final Float previousPrice;
+        private Float newPrice;
+
+        private Window(Float previousPrice, Float newPrice) {
+            this.previousPrice = previousPrice;
+            this.newPrice = newPrice;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+
+    public void submit(ProductPriceUpdatedEvent event) {
+        long windowMs = properties.getPriceCoalesceWindowMs();
+        if (windowMs <= 0) {
+            publish(event.getProductId(), event.getNewPrice(), event.getPreviousPrice());
+            return;
+        }
+
+        windows.compute(event.getProductId(), (productId, window) -> {
+            if (window == null) {
+                scheduler.schedule(() -> flush(productId), windowMs, TimeUnit.MILLISECONDS);
+                return new Window(event.getPreviousPrice(), event.getNewPrice());
+            }
+            window.newPrice = event.getNewPrice();
+            metrics.recordPriceUpdateMerged();
+            return window;
+        });
+    }
+
+    /**
+     * Publish the product's pending update now, if there is one
+     */
+    public void flush(Integer productId) {
+        Window window = windows.remove(productId);
+        if (window == null) {
+            return;
+        }
+        try {
+            publish(productId, window.newPrice, window.previousPrice);
+        } catch (Exception e) {
+            log.error("Error publishing coalesced price update for product {}", productId, e);
+        }
+    }
+
+    private void publish(Integer productId, Float newPrice, Float previousPrice) {
+        emitterManager.sendProductPriceUpdate(productId, newPrice, previousPrice);
+        topProductsReadModel.onPriceUpdated(productId, newPrice);
+    }
+}
@@ -0,0 +1,7 @@
+package com.team2.auctionality.sse;
+
+/**
+ * A product gained or lost a local SSE subscriber; listeners check SseEmitterManager.hasSubscribers
+ */
+public record ProductSubscriptionChangedEvent(Integer productId) {
+}
@@ -0,0 +1,68 @@
+package com.team2.auctionality.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bounded ring of the most recent encoded events of one product, keyed by event counter.
+ * Not thread-safe: SseEmitterManager guards each buffer with its own monitor.
+ */
+class ReplayBuffer {
+
+    record Entry(long counter, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+    }
+
+    private final int capacity;
+    private final ArrayDeque<Entry> entries;
+
+    // Highest counter this buffer can no longer replay after (nothing of this product is missing above it)
+    private long floor;
+    private long lastActivityAt = System.currentTimeMillis();
+
+    ReplayBuffer(int capacity, long floor) {
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(capacity);
+        this.floor = floor;
+    }
+
+    void add(long counter, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (entries.size() == capacity) {
+            floor = entries.removeFirst().counter();
+        }
+        entries.addLast(new Entry(counter, frame));
+        touch();
+    }
+
+    /**
+     * Frames after the given counter, or null if the buffer has rolled over past it
+     * (or it was never issued by this buffer) and the client needs a snapshot
+     */
+    List<Set<ResponseBodyEmitter.DataWithMediaType>> since(long counter) {
+        if (counter < floor || counter > lastCounter()) {
+            return null;
+        }
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> missed = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.counter() > counter) {
+                missed.add(entry.frame());
+            }
+        }
+        return missed;
+    }
+
+    long lastCounter() {
+        return entries.isEmpty() ? floor : entries.getLast().counter();
+    }
+
+    void touch() {
+        lastActivityAt = System.currentTimeMillis();
+    }
+
+    long lastActivityAt() {
+        return lastActivityAt;
+    }
+}
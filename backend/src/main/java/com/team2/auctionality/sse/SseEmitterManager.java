@@ -1,96 +1,331 @@
 package com.team2.auctionality.sse;
 
-import com.team2.auctionality.dto.BidHistoryDto;
+import com.team2.auctionality.config.SseProperties;
+import com.team2.auctionality.dto.BidHistoryEvent;
 import com.team2.auctionality.dto.ProductDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
+/**
+ * Per-product SSE fan-out. Broadcasting only encodes the event once and queues it on each
+ * subscriber; writes happen on virtual writer threads, so the RabbitMQ listener never waits on a client.
+ */
 @Component
-public class SseEmitterManager {
+@RequiredArgsConstructor
+@Slf4j
+public class SseEmitterManager implements InitializingBean, DisposableBean {
 
-    private final Map<Integer, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private static final String HEARTBEAT_KEY = "heartbeat";
 
-    public SseEmitter subscribe(Integer productId) {
-        SseEmitter emitter = new SseEmitter(0L); // no timeout
+    private final Map<Integer, List<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
 
-        emitters
-                .computeIfAbsent(productId, k -> new CopyOnWriteArrayList<>())
-                .add(emitter);
+    // Same mapper Spring MVC uses for responses, so payloads look exactly like before
+    private final JsonMapper jsonMapper;
+    private final SseProperties properties;
+    private final SseMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
 
-        emitter.onCompletion(() -> remove(productId, emitter));
-        emitter.onTimeout(() -> remove(productId, emitter));
-        emitter.onError(e -> remove(productId, emitter));
+    // Bid-history events get ids "<bootId>-<counter>", so ids from another node or before a restart never match
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong eventCounter = new AtomicLong();
+    private final Map<Integer, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
 
-        return emitter;
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment(HEARTBEAT_KEY).build();
+
+    // A writer blocked on a stalled socket only parks its own virtual thread
+    private ExecutorService writers;
+
+    @Override
+    public void afterPropertiesSet() {
+        writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 0).factory());
+        metrics.bind(this,
+                SseEmitterManager::subscriberCount,
+                manager -> manager.allSubscribers().mapToInt(SseSubscriber::depth).sum(),
+                manager -> manager.allSubscribers().mapToInt(SseSubscriber::depth).max().orElse(0));
     }
 
-    public void send(Integer productId, Object data) {
-        List<SseEmitter> productEmitters = emitters.get(productId);
-        if (productEmitters == null) return;
+    @Override
+    public void destroy() {
+        writers.shutdownNow();
+    }
 
-        for (SseEmitter emitter : productEmitters) {
-            try {
-                if (data instanceof List && !((List<?>) data).isEmpty()) {
-                    Object firstElement = ((List<?>) data).get(0);
-                    if (firstElement instanceof BidHistoryDto) {
-                        // Handle list of bid histories
-                        emitter.send(
-                                SseEmitter.event()
-                                        .name("bid-history")
-                                        .data(data)
-                        );
-                    }
-                } else if (data instanceof BidHistoryDto) {
-                    // Handle single bid history
-                    emitter.send(
-                            SseEmitter.event()
-                                    .name("bid-history")
-                                    .data(data)
-                    );
-                } else if (data instanceof ProductDto) {
-                    emitter.send(
-                            SseEmitter.event()
-                                    .name("product")
-                                    .data(data)
-                    );
+    public SseEmitter subscribe(Integer productId) {
+        return subscribe(productId, null);
+    }
+
+    /**
+     * Subscribe, first replaying the bid-history events missed since lastEventId from memory.
+     * If they are no longer buffered the client gets a bid-history-reset and reloads the snapshot.
+     *
+     * @param lastEventId Last-Event-ID sent by a reconnecting EventSource, null on first connect
+     */
+    public SseEmitter subscribe(Integer productId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        SseSubscriber subscriber = new SseSubscriber(productId, emitter, properties.getQueueCapacity());
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        if (lastEventId == null || lastEventId.isBlank()) {
+            register(subscriber);
+            eventPublisher.publishEvent(new ProductSubscriptionChangedEvent(productId));
+            return emitter;
+        }
+
+        ReplayBuffer buffer = replayBuffer(productId);
+        // Replay and register under the buffer lock so no live event slips in between or ahead
+        synchronized (buffer) {
+            List<Set<ResponseBodyEmitter.DataWithMediaType>> missed = buffer.since(parseCounter(lastEventId));
+            if (missed == null || missed.size() > properties.getQueueCapacity()) {
+                BidHistoryEvent reset = new BidHistoryEvent(BidHistoryEvent.Type.RESET, productId, 0, null);
+                offer(subscriber, encode(eventId(buffer.lastCounter()), "bid-history-reset", reset), null);
+            } else {
+                for (Set<ResponseBodyEmitter.DataWithMediaType> frame : missed) {
+                    offer(subscriber, frame, null);
                 }
-            } catch (Exception e) {
-                remove(productId, emitter);
             }
+            buffer.touch();
+            register(subscriber);
         }
+        // Outside the buffer lock: listeners may do I/O (e.g. declaring broker bindings)
+        eventPublisher.publishEvent(new ProductSubscriptionChangedEvent(productId));
+        return emitter;
     }
 
-    public void sendProductPriceUpdate(Integer productId, Float newPrice, Float previousPrice) {
-        List<SseEmitter> productEmitters = emitters.get(productId);
-        if (productEmitters == null) return;
+    public void send(Integer productId, Object data) {
+        String eventName;
+        if (data instanceof BidHistoryEvent event) {
+            // Delta (one new bid) or a request to refetch the history snapshot
+            eventName = event.getType() == BidHistoryEvent.Type.APPENDED ? "bid-appended" : "bid-history-reset";
+            broadcastReplayable(productId, eventName, data);
+            return;
+        } else if (data instanceof ProductDto) {
+            eventName = "product";
+        } else {
+            return;
+        }
+        broadcast(productId, eventName, data);
+    }
 
+    public void sendProductPriceUpdate(Integer productId, Float newPrice, Float previousPrice) {
         Map<String, Object> priceData = Map.of(
                 "productId", productId,
                 "newPrice", newPrice,
                 "previousPrice", previousPrice
         );
+        broadcast(productId, "product-price-update", priceData);
+    }
+
+    /**
+     * Encode the event once and queue the same frame for every subscriber of the product.
+     * Only the latest product / price state matters, so these coalesce by event name.
+     */
+    private void broadcast(Integer productId, String eventName, Object data) {
+        List<SseSubscriber> productSubscribers = subscribers.get(productId);
+        if (productSubscribers == null || productSubscribers.isEmpty()) return;
+
+        Set<ResponseBodyEmitter.DataWithMediaType> event = encode(null, eventName, data);
+        for (SseSubscriber subscriber : productSubscribers) {
+            offer(subscriber, event, eventName);
+        }
+    }
+
+    /**
+     * Like broadcast, but the frame gets an event id and is kept in the product's replay buffer.
+     * Deltas never coalesce; queueing happens under the buffer lock to keep their order.
+     */
+    private void broadcastReplayable(Integer productId, String eventName, Object data) {
+        ReplayBuffer buffer = replayBuffer(productId);
+        synchronized (buffer) {
+            long counter = eventCounter.incrementAndGet();
+            Set<ResponseBodyEmitter.DataWithMediaType> event = encode(eventId(counter), eventName, data);
+            buffer.add(counter, event);
+            for (SseSubscriber subscriber : subscribers.getOrDefault(productId, List.of())) {
+                offer(subscriber, event, null);
+            }
+        }
+    }
+
+    private void offer(SseSubscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event, String coalesceKey) {
+        SseSubscriber.Offer result = subscriber.offer(event, coalesceKey, properties.getOverflowPolicy(), properties.isCoalesce());
+        switch (result) {
+            case COALESCED -> metrics.recordCoalesced();
+            case DROPPED -> metrics.recordDropped();
+            case OVERFLOW -> {
+                evict(subscriber, "overflow");
+                return;
+            }
+            case QUEUED -> {
+            }
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(SseSubscriber subscriber) {
+        if (subscriber.startDraining()) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
 
-        for (SseEmitter emitter : productEmitters) {
+    private void drain(SseSubscriber subscriber) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = subscriber.poll();
+            if (event == null) {
+                subscriber.stopDraining();
+                // An event queued after the last poll but before stopDraining needs a writer too
+                if (subscriber.depth() > 0 && subscriber.startDraining()) {
+                    continue;
+                }
+                return;
+            }
             try {
-                emitter.send(
-                        SseEmitter.event()
-                                .name("product-price-update")
-                                .data(priceData)
-                );
+                subscriber.emitter().send(event);
             } catch (Exception e) {
-                remove(productId, emitter);
+                subscriber.stopDraining();
+                evict(subscriber, "error");
+                return;
             }
         }
     }
 
-    private void remove(Integer productId, SseEmitter emitter) {
-        emitters.getOrDefault(productId, List.of()).remove(emitter);
+    /**
+     * Send heartbeat comments on quiet streams and evict subscribers that fell too far behind
+     */
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        allSubscribers().forEach(subscriber -> {
+            if (subscriber.lagMs(now) > properties.getMaxLagMs()) {
+                evict(subscriber, "lag");
+            } else if (subscriber.depth() == 0) {
+                offer(subscriber, heartbeat, HEARTBEAT_KEY);
+            }
+        });
     }
-}
 
+    /**
+     * Build the SSE frame with the payload already serialized to JSON bytes, so writing it to a
+     * subscriber is a plain byte copy (no per-subscriber Jackson pass)
+     */
+    Set<ResponseBodyEmitter.DataWithMediaType> encode(String id, String eventName, Object data) {
+        byte[] json = jsonMapper.writeValueAsBytes(data);
+        SseEmitter.SseEventBuilder event = SseEmitter.event();
+        if (id != null) {
+            event.id(id);
+        }
+        return event
+                .name(eventName)
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Drop replay buffers of products nobody is watching and that had no events for a while
+     */
+    @Scheduled(fixedDelayString = "${app.sse.replay-idle-ms:600000}")
+    public void evictIdleReplayBuffers() {
+        long cutoff = System.currentTimeMillis() - properties.getReplayIdleMs();
+        replayBuffers.forEach((productId, buffer) -> {
+            synchronized (buffer) {
+                if (buffer.lastActivityAt() < cutoff && subscribers.getOrDefault(productId, List.of()).isEmpty()) {
+                    replayBuffers.remove(productId, buffer);
+                }
+            }
+        });
+    }
+
+    int subscriberCount() {
+        return (int) allSubscribers().count();
+    }
+
+    private Stream<SseSubscriber> allSubscribers() {
+        return subscribers.values().stream().flatMap(List::stream);
+    }
+
+    private ReplayBuffer replayBuffer(Integer productId) {
+        // A new buffer can't replay anything issued before it existed
+        return replayBuffers.computeIfAbsent(productId,
+                k -> new ReplayBuffer(properties.getReplayBufferSize(), eventCounter.get()));
+    }
+
+    private String eventId(long counter) {
+        return bootId + "-" + counter;
+    }
+
+    /**
+     * Counter of an event id issued by this instance since it started, or -1 (never replayable)
+     */
+    private long parseCounter(String eventId) {
+        String prefix = bootId + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Forget a product's replay buffer, e.g. when this node stops receiving its events;
+     * reconnecting clients then get a reset instead of an incomplete replay
+     */
+    public void discardReplayBuffer(Integer productId) {
+        replayBuffers.remove(productId);
+    }
+
+    public boolean hasSubscribers(Integer productId) {
+        return !subscribers.getOrDefault(productId, List.of()).isEmpty();
+    }
+
+    private void register(SseSubscriber subscriber) {
+        subscribers
+                .computeIfAbsent(subscriber.productId(), k -> new CopyOnWriteArrayList<>())
+                .add(subscriber);
+    }
+
+    /**
+     * Disconnect a subscriber; an EventSource reconnects by itself and resumes from Last-Event-ID
+     */
+    private void evict(SseSubscriber subscriber, String reason) {
+        if (!subscriber.close()) {
+            return;
+        }
+        remove(subscriber);
+        metrics.recordEviction(reason);
+        log.debug("Evicted SSE subscriber of product {} ({})", subscriber.productId(), reason);
+        try {
+            subscriber.emitter().complete();
+        } catch (Exception ignored) {
+            // already broken
+        }
+    }
+
+    private void remove(SseSubscriber subscriber) {
+        subscriber.close();
+        if (subscribers.getOrDefault(subscriber.productId(), List.of()).remove(subscriber)) {
+            eventPublisher.publishEvent(new ProductSubscriptionChangedEvent(subscriber.productId()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.team2.auctionality.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer meters for SSE fan-out: subscribers, outbound queue depth,
+ * dropped / coalesced events, merged price updates and evicted subscribers.
+ */
+@Component
+public class SseMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter dropped;
+    private final Counter coalesced;
+    private final Counter priceUpdatesMerged;
+
+    public SseMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.dropped = Counter.builder("sse.events.dropped")
+                .description("Events dropped because a subscriber's outbound queue was full")
+                .register(registry);
+        this.coalesced = Counter.builder("sse.events.coalesced")
+                .description("Queued events replaced by a newer event of the same kind")
+                .register(registry);
+        this.priceUpdatesMerged = Counter.builder("sse.price.updates.merged")
+                .description("Price updates merged into a later one by the per-product coalescing window")
+                .register(registry);
+    }
+
+    void bind(SseEmitterManager manager,
+              ToDoubleFunction<SseEmitterManager> subscribers,
+              ToDoubleFunction<SseEmitterManager> totalDepth,
+              ToDoubleFunction<SseEmitterManager> maxDepth) {
+        Gauge.builder("sse.subscribers", manager, subscribers)
+                .description("Open SSE connections")
+                .register(registry);
+        Gauge.builder("sse.queue.depth", manager, totalDepth)
+                .description("Events waiting in all subscribers' outbound queues")
+                .register(registry);
+        Gauge.builder("sse.queue.depth.max", manager, maxDepth)
+                .description("Deepest single subscriber outbound queue")
+                .register(registry);
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    void recordPriceUpdateMerged() {
+        priceUpdatesMerged.increment();
+    }
+
+    /**
+     * @param reason lag, overflow or error
+     */
+    void recordEviction(String reason) {
+        Counter.builder("sse.subscribers.evicted")
+                .description("Subscribers disconnected by the server")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,134 @@
+package com.team2.auctionality.sse;
+
+import com.team2.auctionality.config.SseProperties;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE connection with its own bounded outbound queue. A single writer task at a time drains it,
+ * so a stalled client only ever holds up its own events.
+ */
+class SseSubscriber {
+
+    enum Offer { QUEUED, COALESCED, DROPPED, OVERFLOW }
+
+    private static final class Frame {
+        private Set<ResponseBodyEmitter.DataWithMediaType> data;
+        private final String coalesceKey;
+        private final long enqueuedAt;
+
+        private Frame(Set<ResponseBodyEmitter.DataWithMediaType> data, String coalesceKey, long enqueuedAt) {
+            this.data = data;
+            this.coalesceKey = coalesceKey;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final Integer productId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final ArrayDeque<Frame> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private boolean closed;
+
+    SseSubscriber(Integer productId, SseEmitter emitter, int capacity) {
+        this.productId = productId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.queue = new ArrayDeque<>(capacity);
+    }
+
+    Integer productId() {
+        return productId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queue an event without blocking
+     *
+     * @param coalesceKey Events with the same non-null key replace each other while queued (if coalescing is on)
+     */
+    synchronized Offer offer(Set<ResponseBodyEmitter.DataWithMediaType> data,
+                             String coalesceKey,
+                             SseProperties.OverflowPolicy policy,
+                             boolean coalesce) {
+        if (closed) {
+            return Offer.DROPPED;
+        }
+        if (coalesce && coalesceKey != null) {
+            for (Frame frame : queue) {
+                if (Objects.equals(frame.coalesceKey, coalesceKey)) {
+                    frame.data = data;
+                    return Offer.COALESCED;
+                }
+            }
+        }
+        Offer result = Offer.QUEUED;
+        if (queue.size() >= capacity) {
+            switch (policy) {
+                case DROP_OLDEST -> {
+                    queue.pollFirst();
+                    result = Offer.DROPPED;
+                }
+                case DROP_NEWEST -> {
+                    return Offer.DROPPED;
+                }
+                case EVICT -> {
+                    return Offer.OVERFLOW;
+                }
+            }
+        }
+        queue.addLast(new Frame(data, coalesceKey, System.currentTimeMillis()));
+        return result;
+    }
+
+    synchronized Set<ResponseBodyEmitter.DataWithMediaType> poll() {
+        Frame frame = queue.pollFirst();
+        return frame != null ? frame.data : null;
+    }
+
+    synchronized int depth() {
+        return queue.size();
+    }
+
+    /**
+     * How long the oldest queued event has been waiting, 0 if nothing is queued
+     */
+    synchronized long lagMs(long now) {
+        Frame oldest = queue.peekFirst();
+        return oldest != null ? now - oldest.enqueuedAt : 0;
+    }
+
+    /**
+     * Stop accepting events and discard the queue
+     *
+     * @return false if it was already closed
+     */
+    synchronized boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        queue.clear();
+        return true;
+    }
+
+    /**
+     * Claim the right to drain; only one writer task runs per subscriber
+     */
+    boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+}
@@ -0,0 +1,101 @@
+package com.team2.auctionality.util;
+
+import com.team2.auctionality.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for keyset (cursor) pagination.
+ * A cursor is the keyset of the last row of a slice (sort keys + id), encoded as an opaque
+ * URL-safe string so clients only ever pass it back.
+ */
+public class CursorUtils {
+
+    private static final String ID_PROPERTY = "id";
+    private static final String ENTRY_SEPARATOR = "|";
+    private static final String FIELD_SEPARATOR = ":";
+
+    /**
+     * Encode a keyset scroll position as an opaque cursor
+     *
+     * @param position Position of the last row of a slice
+     * @return Cursor string, or null if the position carries no keys
+     */
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.getKeys().isEmpty()) {
+            return null;
+        }
+        String raw = keyset.getKeys().entrySet().stream()
+                .map(entry -> entry.getKey() + FIELD_SEPARATOR + encodeValue(entry.getValue()))
+                .collect(Collectors.joining(ENTRY_SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor for the given sort
+     *
+     * @param cursor Cursor from a previous slice, null/blank for the first slice
+     * @param sort   Sort the cursor must have been produced with
+     * @return Forward keyset position
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String entry : raw.split("\\" + ENTRY_SEPARATOR)) {
+                String[] parts = entry.split(FIELD_SEPARATOR, 3);
+                keys.put(parts[0], decodeValue(parts[1], parts[2]));
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+
+        // A cursor is only meaningful for the sort it was produced with
+        Set<String> expected = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        expected.add(ID_PROPERTY);
+        if (!keys.keySet().equals(expected)) {
+            throw new InvalidCursorException("Cursor does not match the requested sort");
+        }
+
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encodeValue(Object value) {
+        return switch (value) {
+            case Integer i -> "i" + FIELD_SEPARATOR + i;
+            case Long l -> "l" + FIELD_SEPARATOR + l;
+            case Float f -> "f" + FIELD_SEPARATOR + f;
+            case Double d -> "d" + FIELD_SEPARATOR + d;
+            case LocalDateTime t -> "t" + FIELD_SEPARATOR + t;
+            case String s -> "s" + FIELD_SEPARATOR + s;
+            case null -> "n" + FIELD_SEPARATOR;
+            default -> throw new IllegalArgumentException("Unsupported cursor value type: " + value.getClass());
+        };
+    }
+
+    private static Object decodeValue(String type, String value) {
+        return switch (type) {
+            case "i" -> Integer.valueOf(value);
+            case "l" -> Long.valueOf(value);
+            case "f" -> Float.valueOf(value);
+            case "d" -> Double.valueOf(value);
+            case "t" -> LocalDateTime.parse(value);
+            case "s" -> value;
+            case "n" -> null;
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+-- =============================
+-- PRODUCT OPTIMISTIC VERSION
+-- =============================
+-- BidSequencer orders a product's bid commands within one instance only. With several instances
+-- two nodes can apply a bid to the same product concurrently; the version column makes the later
+-- commit fail (and be re-run on fresh state) instead of silently losing the other bid and its
+-- bid_count increment, which the bid history uses as its sequence.
+
+ALTER TABLE product
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -1,3 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
 -- =============================
 -- USERS & AUTHENTICATION
 -- =============================
@@ -108,7 +110,9 @@ CREATE TABLE product (
                          bid_increment FLOAT DEFAULT 1,
                          start_time TIMESTAMP NOT NULL,
                          end_time TIMESTAMP NOT NULL,
-                         auto_extension_enabled BOOLEAN DEFAULT TRUE
+                         auto_extension_enabled BOOLEAN DEFAULT TRUE,
+                         description TEXT,
+                         created_at TIMESTAMP NOT NULL DEFAULT NOW()
 );
 
 CREATE TABLE product_image (
@@ -0,0 +1,38 @@
+-- =============================
+-- LEADING BID SNAPSHOT ON PRODUCT
+-- =============================
+-- Adds the denormalized leading bid (bidder, display name, amount, bid count) used by listing
+-- endpoints and backfills it from the bid table. Safe to run more than once.
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS leading_bidder_id INT REFERENCES "user"(id);
+ALTER TABLE product ADD COLUMN IF NOT EXISTS leading_bidder_name TEXT;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS leading_bid_amount FLOAT;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS bid_count INT NOT NULL DEFAULT 0;
+
+-- Same ordering and rejected-bidder exclusion as BidRepository.findHighestBid
+UPDATE product p
+SET leading_bidder_id   = lb.bidder_id,
+    leading_bidder_name = up.full_name,
+    leading_bid_amount  = lb.amount
+FROM (
+    SELECT DISTINCT ON (b.product_id) b.product_id, b.bidder_id, b.amount
+    FROM bid b
+    WHERE NOT EXISTS (
+        SELECT 1
+        FROM rejected_bidder r
+        WHERE r.product_id = b.product_id
+          AND r.bidder_id = b.bidder_id
+    )
+    ORDER BY b.product_id, b.amount DESC, b.created_at ASC
+) lb
+LEFT JOIN user_profile up ON up.user_id = lb.bidder_id
+WHERE p.id = lb.product_id;
+
+UPDATE product p
+SET bid_count = c.cnt
+FROM (
+    SELECT product_id, COUNT(*) AS cnt
+    FROM bid
+    GROUP BY product_id
+) c
+WHERE p.id = c.product_id;
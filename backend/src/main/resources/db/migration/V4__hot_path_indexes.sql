@@ -0,0 +1,124 @@
+-- =============================
+-- SECONDARY INDEXES FOR HOT QUERY PATHS
+-- =============================
+-- Derived from the repository queries; each index notes the queries it serves.
+-- IF NOT EXISTS so databases where some of these were created by hand still migrate.
+
+-- BIDDING
+
+-- BidRepository.findHighestBid / findHighestBids (DISTINCT ON) / findValidBids / findTopBidsByProductId,
+-- findTopByProductIdOrderByAmountDescCreatedAtAsc, countByProductId
+CREATE INDEX IF NOT EXISTS idx_bid_product_amount_created
+    ON bid (product_id, amount DESC, created_at ASC);
+
+-- BidRepository.findByProductIdOrderByCreatedAtDesc / findValidBidsOrderByCreatedAtDesc (bid history)
+CREATE INDEX IF NOT EXISTS idx_bid_product_created
+    ON bid (product_id, created_at DESC);
+
+-- BidRepository.countByBidderId
+CREATE INDEX IF NOT EXISTS idx_bid_bidder
+    ON bid (bidder_id);
+
+-- AutoBidConfigRepository.findByProductIdAndBidderId / findByProductId (auction book load)
+CREATE INDEX IF NOT EXISTS idx_auto_bid_config_product_bidder
+    ON auto_bid_config (product_id, bidder_id);
+
+-- ProductRepository.findProductsUserHasBidOn
+CREATE INDEX IF NOT EXISTS idx_auto_bid_config_bidder
+    ON auto_bid_config (bidder_id);
+
+-- NOT EXISTS (rejected_bidder) in every valid-bid query, RejectedBidderRepository lookups
+CREATE INDEX IF NOT EXISTS idx_rejected_bidder_product_bidder
+    ON rejected_bidder (product_id, bidder_id);
+
+-- BidderApprovalRepository.findByProductIdAndBidderId
+CREATE INDEX IF NOT EXISTS idx_bidder_approval_product_bidder
+    ON bidder_approval (product_id, bidder_id);
+
+-- PRODUCTS
+
+-- ProductRepository.claimExpiredBatch / findActiveDeadlines (finalization, auction closer)
+CREATE INDEX IF NOT EXISTS idx_product_active_end_time
+    ON product (end_time)
+    WHERE status = 'ACTIVE';
+
+-- ProductRepository.findTop5EndingSoon, end-time sorts in searchProducts, countByEndTimeBetween
+CREATE INDEX IF NOT EXISTS idx_product_end_time
+    ON product (end_time);
+
+-- ProductRepository.findTop5HighestPrice, price sorts in searchProducts
+CREATE INDEX IF NOT EXISTS idx_product_current_price
+    ON product (current_price DESC);
+
+-- ProductRepository.findTop5MostBid (bid_count snapshot)
+CREATE INDEX IF NOT EXISTS idx_product_bid_count
+    ON product (bid_count DESC);
+
+-- ProductRepository.findByCategory / searchProducts / findRelatedProducts / countByCategoryId
+CREATE INDEX IF NOT EXISTS idx_product_category
+    ON product (category_id);
+
+-- ProductRepository.findBySellerId / findBySellerIdAndTitleContaining / countBySellerId
+CREATE INDEX IF NOT EXISTS idx_product_seller
+    ON product (seller_id);
+
+-- Child category match (c.parent_id = :categoryId) in category listings
+CREATE INDEX IF NOT EXISTS idx_category_parent
+    ON category (parent_id);
+
+-- @BatchSize fetches and findByProductId lookups of product children
+CREATE INDEX IF NOT EXISTS idx_product_image_product
+    ON product_image (product_id);
+
+CREATE INDEX IF NOT EXISTS idx_product_extra_description_product
+    ON product_extra_description (product_id);
+
+CREATE INDEX IF NOT EXISTS idx_product_question_product
+    ON product_question (product_id);
+
+CREATE INDEX IF NOT EXISTS idx_product_answer_question
+    ON product_answer (question_id);
+
+-- ORDERS
+
+-- NOT EXISTS ("order") in claimExpiredBatch, OrderRepository.countByProductId / findByProduct
+CREATE INDEX IF NOT EXISTS idx_order_product
+    ON "order" (product_id);
+
+-- OrderRepository.findOrders / countByBuyerIdOrSellerId, ProductRepository.findWonProductsByUserId
+CREATE INDEX IF NOT EXISTS idx_order_buyer
+    ON "order" (buyer_id);
+
+CREATE INDEX IF NOT EXISTS idx_order_seller
+    ON "order" (seller_id);
+
+-- ChatThreadRepository.findByOrderId / findFirstByOrderIdOrderByCreatedAtAsc
+CREATE INDEX IF NOT EXISTS idx_chat_thread_order
+    ON chat_thread (order_id, created_at);
+
+-- ChatMessageRepository.findByThreadIdOrderByCreatedAtAsc
+CREATE INDEX IF NOT EXISTS idx_chat_message_thread_created
+    ON chat_message (thread_id, created_at);
+
+-- USERS
+
+-- WatchListItemRepository.findByUser / findByUserWithFilters (ORDER BY created_at DESC)
+CREATE INDEX IF NOT EXISTS idx_watchlist_item_user_created
+    ON watchlist_item (user_id, created_at DESC);
+
+-- Token lookups by value
+CREATE INDEX IF NOT EXISTS idx_refresh_token_token
+    ON refresh_token (token);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user
+    ON refresh_token (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_email_verification_token_token
+    ON email_verification_token (token);
+
+CREATE INDEX IF NOT EXISTS idx_password_reset_token_token
+    ON password_reset_token (token);
+
+-- SocialLoginAccountRepository.findByProviderAndProviderUserId
+CREATE INDEX IF NOT EXISTS idx_social_login_account_provider_user
+    ON social_login_account (provider, provider_user_id);
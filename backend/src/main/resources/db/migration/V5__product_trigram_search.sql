@@ -0,0 +1,20 @@
+-- =============================
+-- TRIGRAM PRODUCT SEARCH
+-- =============================
+-- Product search matches LOWER(unaccent(title)) against '%keyword%'. A leading wildcard can't use a
+-- btree, but a pg_trgm GIN index can serve it. unaccent() is only STABLE (its dictionary is looked
+-- up by name), so it is wrapped in an IMMUTABLE function with a fixed dictionary to be indexable.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE OR REPLACE FUNCTION f_unaccent(text)
+    RETURNS text
+    LANGUAGE sql
+    IMMUTABLE PARALLEL SAFE STRICT
+AS $$
+SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$;
+
+-- ProductRepository.searchProducts / searchProductsByRelevance / findBySellerIdAndTitleContaining
+CREATE INDEX IF NOT EXISTS idx_product_title_trgm
+    ON product USING gin (lower(f_unaccent(title)) gin_trgm_ops);
@@ -0,0 +1,17 @@
+-- =============================
+-- SHARED RATE-LIMIT BUCKETS
+-- =============================
+-- Cluster-wide GCRA state for PostgresRateLimitBackend (rate-limit.distributed.enabled).
+-- Replicas lease batches of tokens from these rows; times are epoch milliseconds of the database clock.
+-- UNLOGGED: the state is disposable (losing it after a crash only resets limits) and writes skip the WAL.
+
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_bucket (
+    identifier   TEXT   PRIMARY KEY,  -- "<user or ip>|<maxRequests>:<windowSeconds>"
+    tat_ms       BIGINT NOT NULL,     -- theoretical arrival time of the next token
+    last_granted INT    NOT NULL,     -- tokens handed out by the last lease (returned to the caller)
+    refreshed_ms BIGINT NOT NULL      -- time of the last lease
+);
+
+-- Cleanup of buckets that have refilled completely (PostgresRateLimitBackend.purgeRefilled)
+CREATE INDEX IF NOT EXISTS idx_rate_limit_bucket_tat
+    ON rate_limit_bucket (tat_ms);
@@ -0,0 +1,10 @@
+-- =============================
+-- FINALIZATION CLAIMS
+-- =============================
+-- Lease written by AuctionEndMonitoringService.claimExpiredBatch: the SKIP LOCKED row locks of the
+-- claim query end with its transaction, the lease keeps other replicas' sweeps off the batch
+-- until it is finalized or the lease runs out (app.auction.finalization-claim-ms).
+
+ALTER TABLE product
+    ADD COLUMN IF NOT EXISTS finalization_claimed_by    TEXT,       -- instance holding the claim
+    ADD COLUMN IF NOT EXISTS finalization_claimed_until TIMESTAMP;  -- claim expiry; NULL = unclaimed
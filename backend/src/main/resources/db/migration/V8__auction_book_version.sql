@@ -0,0 +1,12 @@
+-- =============================
+-- AUCTION BOOK VERSION
+-- =============================
+-- AuctionBookRegistry keeps a resident copy of each product's auto-bid configs per instance.
+-- Every config write stamps the product with a new value from the sequence, so an instance can
+-- tell whether its copy is current with one primary-key read. Sequence values are never reused,
+-- not even after a rollback, so a stamp seen once can't come back with different configs.
+
+CREATE SEQUENCE IF NOT EXISTS auction_book_version_seq;
+
+ALTER TABLE product
+    ADD COLUMN IF NOT EXISTS auction_book_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- =============================
+-- KEYSET (CURSOR) PAGING ON PRODUCT
+-- =============================
+-- Cursor paging sorts by the requested key plus id and continues after the cursor's row, so each
+-- sort needs an index on (key, id). The listings aren't filtered by status, so the indexes aren't partial.
+
+-- ProductService.scrollAllProducts / scrollProductsByCategory (newest first)
+CREATE INDEX IF NOT EXISTS idx_product_created_id
+    ON product (created_at DESC, id DESC);
+
+-- current_price is nullable (no price yet means the start price applies), and a NULL key can't be
+-- compared against a cursor. Price cursors sort by the price the listing actually shows instead.
+ALTER TABLE product
+    ADD COLUMN IF NOT EXISTS effective_price FLOAT
+        GENERATED ALWAYS AS (COALESCE(current_price, start_price)) STORED;
+
+-- ProductService.scrollSearchProducts with priceAsc / priceDesc
+CREATE INDEX IF NOT EXISTS idx_product_effective_price_id
+    ON product (effective_price, id);
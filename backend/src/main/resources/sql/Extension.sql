@@ -1 +0,0 @@
-CREATE EXTENSION IF NOT EXISTS unaccent;
\ No newline at end of file
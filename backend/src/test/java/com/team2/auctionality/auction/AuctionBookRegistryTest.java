@@ -0,0 +1,180 @@
+package com.team2.auctionality.auction;
+
+import com.team2.auctionality.model.AutoBidConfig;
+import com.team2.auctionality.repository.AutoBidConfigRepository;
+import com.team2.auctionality.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AuctionBookRegistry against mocked repositories; the database is modelled by the config list and
+ * the committed auction_book_version
+ */
+class AuctionBookRegistryTest {
+
+    private static final int PRODUCT_ID = 7;
+
+    private final AutoBidConfigRepository autoBidConfigRepository = mock(AutoBidConfigRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final AuctionBookRegistry registry = new AuctionBookRegistry(autoBidConfigRepository, productRepository);
+
+    private final List<AutoBidConfig> configs = new ArrayList<>();
+    private long committedVersion;
+    private long nextVersion = 1;
+    // Version written by the open transaction, -1 if it changed nothing
+    private long bumpedTo;
+
+    @BeforeEach
+    void setUp() {
+        when(autoBidConfigRepository.save(any())).thenAnswer(invocation -> {
+            AutoBidConfig config = invocation.getArgument(0);
+            if (config.getId() == null) {
+                config.setId(configs.size() + 1);
+                configs.add(config);
+            }
+            return config;
+        });
+        when(autoBidConfigRepository.findByProductId(PRODUCT_ID)).thenAnswer(invocation -> List.copyOf(configs));
+        when(productRepository.findAuctionBookVersion(PRODUCT_ID)).thenAnswer(invocation -> committedVersion);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsTheConfigsOnceForTwoBids() {
+        placeBid(10, 100f);
+        placeBid(11, 150f);
+
+        verify(autoBidConfigRepository, times(1)).findByProductId(PRODUCT_ID);
+    }
+
+    @Test
+    void seesItsOwnChangeBeforeCommit() {
+        placeBid(10, 100f);
+
+        AuctionBook.Top top = inTransaction(true, () -> {
+            registry.save(config(11, 150f));
+            return registry.get(PRODUCT_ID).top();
+        });
+
+        assertThat(top.leader().bidderId()).isEqualTo(11);
+        assertThat(top.runnerUp().bidderId()).isEqualTo(10);
+    }
+
+    @Test
+    void dropsTheChangeOnRollback() {
+        placeBid(10, 100f);
+
+        inTransaction(false, () -> registry.save(config(11, 150f)));
+        configs.removeIf(config -> config.getBidderId() == 11);
+
+        AuctionBook book = inTransaction(true, () -> registry.get(PRODUCT_ID));
+        assertThat(book.size()).isEqualTo(1);
+        verify(autoBidConfigRepository, times(1)).findByProductId(PRODUCT_ID);
+    }
+
+    @Test
+    void reloadsAfterAChangeMadeByAnotherInstance() {
+        placeBid(10, 100f);
+
+        // Another replica adds a config and bumps the version
+        AutoBidConfig remote = config(11, 150f);
+        remote.setId(configs.size() + 1);
+        configs.add(remote);
+        committedVersion = nextVersion++;
+
+        AuctionBook book = inTransaction(true, () -> registry.get(PRODUCT_ID));
+        assertThat(book.top().leader().bidderId()).isEqualTo(11);
+        verify(autoBidConfigRepository, times(2)).findByProductId(PRODUCT_ID);
+    }
+
+    @Test
+    void readsWithoutAChangeOnlyCheckTheVersion() {
+        placeBid(10, 100f);
+
+        inTransaction(true, () -> registry.get(PRODUCT_ID));
+        inTransaction(true, () -> registry.get(PRODUCT_ID));
+
+        verify(autoBidConfigRepository, times(1)).findByProductId(PRODUCT_ID);
+        verify(productRepository, times(2)).findAuctionBookVersion(PRODUCT_ID);
+    }
+
+    /**
+     * Save a config and read the book like BidService.placeBid / AutoBidEngine.recalculate, then commit
+     */
+    private void placeBid(int bidderId, float maxPrice) {
+        inTransaction(true, () -> {
+            registry.save(config(bidderId, maxPrice));
+            return registry.get(PRODUCT_ID).top();
+        });
+    }
+
+    private <T> T inTransaction(boolean commit, Supplier<T> work) {
+        TransactionSynchronizationManager.initSynchronization();
+        bumpedTo = -1;
+        when(productRepository.bumpAuctionBookVersion(PRODUCT_ID)).thenAnswer(invocation -> {
+            long previous = bumpedTo >= 0 ? bumpedTo : committedVersion;
+            bumpedTo = nextVersion++;
+            return change(previous, bumpedTo);
+        });
+        try {
+            T result = work.get();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                if (bumpedTo >= 0) {
+                    committedVersion = bumpedTo;
+                }
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static ProductRepository.AuctionBookVersionChange change(long previous, long current) {
+        return new ProductRepository.AuctionBookVersionChange() {
+            @Override
+            public Long getPrevious() {
+                return previous;
+            }
+
+            @Override
+            public Long getCurrent() {
+                return current;
+            }
+        };
+    }
+
+    private static AutoBidConfig config(int bidderId, float maxPrice) {
+        return AutoBidConfig.builder()
+                .productId(PRODUCT_ID)
+                .bidderId(bidderId)
+                .maxPrice(maxPrice)
+                .createdAt(new Date())
+                .build();
+    }
+}
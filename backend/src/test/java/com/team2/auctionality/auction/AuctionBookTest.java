@@ -0,0 +1,73 @@
+package com.team2.auctionality.auction;
+
+import com.team2.auctionality.model.AutoBidConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuctionBookTest {
+
+    private static final int PRODUCT_ID = 7;
+
+    @Test
+    void ordersByMaxPriceThenEarliestConfig() {
+        AuctionBook book = new AuctionBook(PRODUCT_ID, 1, List.of(
+                config(1, 10, 100f, 3_000),
+                config(2, 11, 150f, 2_000),
+                config(3, 12, 150f, 1_000)
+        ));
+
+        AuctionBook.Top top = book.top();
+
+        assertThat(top.leader().configId()).isEqualTo(3);
+        assertThat(top.runnerUp().configId()).isEqualTo(2);
+        assertThat(book.size()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyBookHasNoLeader() {
+        AuctionBook book = new AuctionBook(PRODUCT_ID, 0, List.of());
+
+        assertThat(book.top().isEmpty()).isTrue();
+        assertThat(book.top().runnerUp()).isNull();
+    }
+
+    @Test
+    void withReplacesTheBiddersPreviousEntryInACopy() {
+        AuctionBook book = new AuctionBook(PRODUCT_ID, 1, List.of(
+                config(1, 10, 100f, 1_000),
+                config(2, 11, 120f, 2_000)
+        ));
+
+        AuctionBook changed = book.with(AuctionBook.ProxyBid.of(config(1, 10, 200f, 3_000)), 5);
+
+        assertThat(changed.getVersion()).isEqualTo(5);
+        assertThat(changed.size()).isEqualTo(2);
+        assertThat(changed.top().leader().maxPrice()).isEqualTo(200f);
+        assertThat(changed.top().runnerUp().bidderId()).isEqualTo(11);
+    }
+
+    @Test
+    void withLeavesTheOriginalBookUntouched() {
+        AuctionBook book = new AuctionBook(PRODUCT_ID, 1, List.of(config(1, 10, 100f, 1_000)));
+
+        book.with(AuctionBook.ProxyBid.of(config(2, 11, 300f, 2_000)), 2);
+
+        assertThat(book.getVersion()).isEqualTo(1);
+        assertThat(book.size()).isEqualTo(1);
+        assertThat(book.top().leader().configId()).isEqualTo(1);
+    }
+
+    private static AutoBidConfig config(int id, int bidderId, float maxPrice, long createdAt) {
+        return AutoBidConfig.builder()
+                .id(id)
+                .productId(PRODUCT_ID)
+                .bidderId(bidderId)
+                .maxPrice(maxPrice)
+                .createdAt(new Date(createdAt))
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.team2.auctionality.auction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BidSequencerTest {
+
+    private final BidSequencer sequencer = new BidSequencer(2);
+
+    @AfterEach
+    void tearDown() {
+        sequencer.destroy();
+    }
+
+    @Test
+    void runsCommandsOfOneProductOneAtATime() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Void>> submissions = IntStream.range(0, 50)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> sequencer.run(1, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.onSpinWait();
+                    running.decrementAndGet();
+                })))
+                .toList();
+        submissions.forEach(CompletableFuture::join);
+
+        assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    void blockedProductDoesNotHoldUpAnother() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> sequencer.run(1, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        CompletableFuture<String> other = CompletableFuture.supplyAsync(() -> sequencer.execute(2, () -> "done"));
+
+        assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void nestedCommandForTheSameProductRunsInline() {
+        String result = sequencer.execute(1, () -> sequencer.execute(1, () -> "inner"));
+
+        assertThat(result).isEqualTo("inner");
+    }
+
+    @Test
+    void reRunsACommandThatLostAnOptimisticRace() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Integer result = sequencer.execute(1, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale product");
+            }
+            return attempts.get();
+        });
+
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    void givesUpAfterTheConfiguredRetries() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> sequencer.run(1, () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale product");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void keepsSubmissionOrderForOneProduct() {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> sequencer.run(1, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add(0);
+        }));
+
+        // Queue the rest behind the blocked first command, each after the previous one is enqueued
+        List<CompletableFuture<Void>> rest = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> {
+                    CompletableFuture<Void> submitted = CompletableFuture.runAsync(() -> sequencer.run(1, () -> order.add(i)));
+                    waitForQueueLength(i + 1);
+                    return submitted;
+                })
+                .toList();
+        release.countDown();
+        first.join();
+        rest.forEach(CompletableFuture::join);
+
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 5);
+    }
+
+    private void waitForQueueLength(int length) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sequencer.pending(1) < length) {
+            assertThat(System.nanoTime()).as("command enqueued").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
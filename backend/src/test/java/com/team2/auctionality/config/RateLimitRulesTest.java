@@ -0,0 +1,63 @@
+package com.team2.auctionality.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitRulesTest {
+
+    @Test
+    void mostSpecificEndpointRouteWins() {
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        // Declared broadest first, so only the specificity ordering can pick the narrow route
+        endpoints.put("/api/**", "50:60");
+        endpoints.put("/api/bids/**", "10:60");
+        endpoints.put("/api/bids/{id}/auto", "5:30");
+        RateLimitRules rules = RateLimitRules.compile(properties(endpoints, Map.of()));
+
+        assertThat(rules.resolve(path("/api/bids/7/auto"), "POST")).isEqualTo(new RateLimitRules.Limit(5, 30));
+        assertThat(rules.resolve(path("/api/bids/7"), "POST")).isEqualTo(new RateLimitRules.Limit(10, 60));
+        assertThat(rules.resolve(path("/api/products"), "GET")).isEqualTo(new RateLimitRules.Limit(50, 60));
+    }
+
+    @Test
+    void fallsBackToTheMethodThenTheDefaultLimit() {
+        RateLimitRules rules = RateLimitRules.compile(properties(Map.of(), Map.of("POST", "20:60")));
+
+        assertThat(rules.resolve(path("/api/products"), "POST")).isEqualTo(new RateLimitRules.Limit(20, 60));
+        assertThat(rules.resolve(path("/api/products"), "GET")).isEqualTo(new RateLimitRules.Limit(100, 60));
+    }
+
+    @Test
+    void invalidLimitsFallBackToTheDefault() {
+        RateLimitProperties properties = properties(Map.of("/api/auth/**", "ten per minute"), Map.of("GET", "5"));
+        properties.setDefaultLimit("30:10");
+        RateLimitRules rules = RateLimitRules.compile(properties);
+
+        assertThat(rules.resolve(path("/api/auth/login"), "POST")).isEqualTo(new RateLimitRules.Limit(30, 10));
+        assertThat(rules.resolve(path("/api/products"), "GET")).isEqualTo(new RateLimitRules.Limit(30, 10));
+    }
+
+    @Test
+    void excludesConfiguredPaths() {
+        RateLimitRules rules = RateLimitRules.compile(new RateLimitProperties());
+
+        assertThat(rules.isExcluded(path("/actuator/health"))).isTrue();
+        assertThat(rules.isExcluded(path("/api/products"))).isFalse();
+    }
+
+    private static RateLimitProperties properties(Map<String, String> endpoints, Map<String, String> methods) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEndpoints(endpoints);
+        properties.setMethods(methods);
+        return properties;
+    }
+
+    private static PathContainer path(String path) {
+        return PathContainer.parsePath(path);
+    }
+}
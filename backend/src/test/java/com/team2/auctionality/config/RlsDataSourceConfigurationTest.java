@@ -0,0 +1,93 @@
+package com.team2.auctionality.config;
+
+import com.team2.auctionality.security.JwtService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RlsDataSourceConfigurationTest {
+
+    private HikariDataSource pool;
+    private Connection checkout;
+    private Connection physical;
+    private RlsDataSourceConfiguration.RlsDataSourceWrapper dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(HikariDataSource.class);
+        // One pooled physical connection, handed out behind a new proxy each time in a real pool
+        checkout = mock(Connection.class);
+        physical = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(checkout);
+        when(checkout.isWrapperFor(Connection.class)).thenReturn(true);
+        when(checkout.unwrap(Connection.class)).thenReturn(physical);
+        when(checkout.getAutoCommit()).thenReturn(true);
+
+        dataSource = new RlsDataSourceConfiguration.RlsDataSourceWrapper(
+                pool, new RlsSessionVariableService(mock(JwtService.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void setsUserOnceWhileTheConnectionServesTheSameUser() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(checkout.prepareStatement(anyString())).thenReturn(statement);
+
+        authenticateAs(1);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        verify(statement, times(1)).setString(1, "1");
+        verify(pool, never()).evictConnection(checkout);
+    }
+
+    @Test
+    void evictsTheConnectionWhenSettingTheNextUserFails() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(checkout.prepareStatement(anyString()))
+                .thenReturn(statement)
+                .thenThrow(new SQLException("connection reset"));
+
+        authenticateAs(1);
+        dataSource.getConnection();
+        verify(statement).setString(1, "1");
+
+        // The session still holds user 1: the checkout for user 2 must fail and the connection must not go back
+        authenticateAs(2);
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLException.class);
+        verify(pool).evictConnection(checkout);
+
+        // A replacement connection is set again, never trusted from the failed attempt
+        when(checkout.prepareStatement(anyString())).thenReturn(statement);
+        dataSource.getConnection();
+        verify(statement).setString(1, "2");
+    }
+
+    private static void authenticateAs(int userId) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken("user" + userId, null, List.of());
+        authentication.setDetails(Map.of("userId", userId));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
@@ -0,0 +1,151 @@
+package com.team2.auctionality.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpStompClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Relay mode of WebSocketConfig against RabbitMQ with the STOMP plugin (same plugins as docker-compose.rabbitmq.yml).
+ * The subscriber connects to the broker directly, like a client held by another node's relay would be:
+ * a message published through this node's messaging template has to travel through RabbitMQ to reach it.
+ */
+@SpringBootTest(
+        classes = WebSocketConfig.class,
+        properties = "app.websocket.broker-relay.enabled=true"
+)
+@Testcontainers(disabledWithoutDocker = true)
+class StompBrokerRelayIntegrationTest {
+
+    private static final int STOMP_PORT = 61613;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Container
+    static final GenericContainer<?> rabbitmq = new GenericContainer<>("rabbitmq:3.13-management")
+            .withCopyFileToContainer(
+                    MountableFile.forHostPath("docker/rabbitmq/enabled_plugins"), "/etc/rabbitmq/enabled_plugins")
+            .withExposedPorts(STOMP_PORT)
+            .waitingFor(Wait.forLogMessage(".*Server startup complete.*", 1));
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.websocket.broker-relay.host", rabbitmq::getHost);
+        registry.add("app.websocket.broker-relay.port", () -> rabbitmq.getMappedPort(STOMP_PORT));
+    }
+
+    // Only used on the inbound client channel, which this test doesn't go through
+    @MockitoBean
+    private WebSocketAuthInterceptor webSocketAuthInterceptor;
+
+    @MockitoBean
+    private MessagingUserArgumentResolver messagingUserArgumentResolver;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relay;
+
+    private ReactorNettyTcpStompClient stompClient;
+    private StompSession session;
+
+    @BeforeEach
+    void connect() throws Exception {
+        // Messages sent before the relay's system session is up are dropped
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!relay.isBrokerAvailable()) {
+            assertThat(System.nanoTime() - deadline).as("relay connected to RabbitMQ").isNegative();
+            Thread.sleep(100);
+        }
+
+        stompClient = new ReactorNettyTcpStompClient(rabbitmq.getHost(), rabbitmq.getMappedPort(STOMP_PORT));
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin("guest");
+        connectHeaders.setPasscode("guest");
+        session = stompClient.connectAsync(connectHeaders, new StompSessionHandlerAdapter() {
+        }).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        session.setAutoReceipt(true);
+    }
+
+    @AfterEach
+    void disconnect() {
+        if (session != null) {
+            session.disconnect();
+        }
+        if (stompClient != null) {
+            stompClient.shutdown();
+        }
+    }
+
+    @Test
+    void deliversChatMessagesThroughTheBroker() throws Exception {
+        // Same destination as ChatMessageService
+        String destination = "/topic/chat." + 42;
+        BlockingQueue<String> received = subscribe(destination);
+
+        messagingTemplate.convertAndSend(destination, Map.of("content", "hello from another node"));
+
+        assertThat(received.poll(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).contains("hello from another node");
+    }
+
+    @Test
+    void deliversAuctionEndNotificationsThroughTheBroker() throws Exception {
+        // Same destination as AuctionEndMonitoringService
+        String destination = "/topic/auction-end." + 7;
+        BlockingQueue<String> received = subscribe(destination);
+
+        messagingTemplate.convertAndSend(destination, Map.of("productId", 7, "status", "ENDED"));
+
+        assertThat(received.poll(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).contains("\"productId\":7");
+    }
+
+    /**
+     * Subscribe and wait for the broker's receipt, so nothing is published before the subscription exists
+     */
+    private BlockingQueue<String> subscribe(String destination) throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        StompSession.Subscription subscription = session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+            }
+        });
+        subscription.addReceiptTask(() -> subscribed.complete(null));
+        subscription.addReceiptLostTask(() -> subscribed.completeExceptionally(new IllegalStateException("No receipt for " + destination)));
+        subscribed.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        return received;
+    }
+}
@@ -0,0 +1,163 @@
+package com.team2.auctionality.repository;
+
+import com.team2.auctionality.PostgresTestcontainersConfiguration;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.Query;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot-path queries are served by the V4, V5 and V9 indexes.
+ * The tables are nearly empty here, so seq scans are disabled: the planner then only falls back
+ * to a Seq Scan when no index can serve the query at all. Product can always be read through its
+ * primary key instead, so the product listings are also checked for the index they rely on.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class HotPathQueryPlanTest {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+
+    // Literal stand-ins for the named parameters of the native queries
+    private static final Map<String, String> PARAMETERS = Map.of(
+            "productId", "1",
+            "categoryId", "1",
+            "productIds", "1, 2, 3",
+            "configIds", "1, 2, 3",
+            "userId", "1",
+            "now", "LOCALTIMESTAMP",
+            "batchSize", "50"
+    );
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void disableSeqScans() {
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+    }
+
+    static Stream<String> hotPathQueries() {
+        return Stream.of(
+                nativeQuery(BidRepository.class, "findHighestBid"),
+                nativeQuery(BidRepository.class, "findHighestBids"),
+                nativeQuery(BidRepository.class, "findValidBids"),
+                nativeQuery(BidRepository.class, "findHighestBidsOfConfigBidders"),
+                nativeQuery(AutoBidConfigRepository.class, "findSoleConfigs"),
+                nativeQuery(ProductRepository.class, "lockClaimableExpired"),
+                nativeQuery(ProductRepository.class, "findProductsUserHasBidOn"),
+                // Derived queries
+                "SELECT * FROM bid WHERE product_id = 1 ORDER BY created_at DESC",
+                "SELECT * FROM auto_bid_config WHERE product_id = 1",
+                "SELECT * FROM auto_bid_config WHERE product_id = 1 AND bidder_id = 2",
+                "SELECT * FROM watchlist_item WHERE user_id = 1 ORDER BY created_at DESC LIMIT 20",
+                "SELECT * FROM chat_message WHERE thread_id = 1 ORDER BY created_at"
+        );
+    }
+
+    /**
+     * Product listings with the index that serves them
+     */
+    static Stream<Arguments> productListingQueries() {
+        return Stream.of(
+                // Category listing
+                Arguments.of(nativeQuery(ProductRepository.class, "findByCategory"), "idx_product_category"),
+                // searchProducts, searchProductsByRelevance (ProductSpecifications.titleContains renders the same match)
+                Arguments.of("""
+                        SELECT * FROM product
+                        WHERE lower(f_unaccent(title)) LIKE '%' || lower(f_unaccent('camera')) || '%'
+                        ORDER BY end_time DESC LIMIT 20
+                        """, "idx_product_title_trgm"),
+                Arguments.of("""
+                        SELECT * FROM product
+                        WHERE lower(f_unaccent(title)) LIKE '%' || lower(f_unaccent('camera')) || '%'
+                        ORDER BY word_similarity(lower(f_unaccent('camera')), lower(f_unaccent(title))) DESC, end_time DESC
+                        LIMIT 20
+                        """, "idx_product_title_trgm"),
+                // findTop5EndingSoon / findTop5HighestPrice / findTop5MostBid
+                Arguments.of("SELECT * FROM product WHERE end_time > LOCALTIMESTAMP ORDER BY end_time LIMIT 5",
+                        "idx_product_end_time"),
+                Arguments.of("SELECT * FROM product WHERE end_time >= LOCALTIMESTAMP ORDER BY current_price DESC LIMIT 5",
+                        "idx_product_current_price"),
+                Arguments.of("SELECT * FROM product ORDER BY bid_count DESC LIMIT 5", "idx_product_bid_count"),
+                // Keyset scrolling past a cursor (ProductService.scrollProducts): newest first, priceAsc, priceDesc
+                Arguments.of("""
+                        SELECT * FROM product
+                        WHERE created_at < LOCALTIMESTAMP OR (created_at = LOCALTIMESTAMP AND id < 100)
+                        ORDER BY created_at DESC, id DESC LIMIT 21
+                        """, "idx_product_created_id"),
+                Arguments.of("""
+                        SELECT * FROM product
+                        WHERE effective_price > 100 OR (effective_price = 100 AND id > 100)
+                        ORDER BY effective_price, id LIMIT 21
+                        """, "idx_product_effective_price_id"),
+                Arguments.of("""
+                        SELECT * FROM product
+                        WHERE effective_price < 100 OR (effective_price = 100 AND id < 100)
+                        ORDER BY effective_price DESC, id DESC LIMIT 21
+                        """, "idx_product_effective_price_id")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hotPathQueries")
+    void isServedByAnIndex(String sql) {
+        assertThat(explain(sql))
+                .as("plan of %s", sql)
+                .noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("productListingQueries")
+    void isServedByItsIndex(String sql, String index) {
+        assertThat(explain(sql))
+                .as("plan of %s", sql)
+                .noneMatch(line -> line.contains("Seq Scan"))
+                .anyMatch(line -> line.contains(index));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> explain(String sql) {
+        return entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+    }
+
+    /**
+     * SQL of a repository's native @Query with its named parameters replaced by literals
+     */
+    private static String nativeQuery(Class<?> repository, String methodName) {
+        Method method = Arrays.stream(repository.getMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        Query query = method.getAnnotation(Query.class);
+        assertThat(query.nativeQuery()).as("%s is native", methodName).isTrue();
+
+        Matcher matcher = NAMED_PARAMETER.matcher(query.value());
+        StringBuilder sql = new StringBuilder();
+        while (matcher.find()) {
+            String literal = PARAMETERS.get(matcher.group(1));
+            assertThat(literal).as("literal for :%s", matcher.group(1)).isNotNull();
+            matcher.appendReplacement(sql, literal);
+        }
+        return matcher.appendTail(sql).toString();
+    }
+}
@@ -0,0 +1,185 @@
+package com.team2.auctionality.service;
+
+import com.team2.auctionality.PostgresTestcontainersConfiguration;
+import com.team2.auctionality.model.Bid;
+import com.team2.auctionality.model.Product;
+import com.team2.auctionality.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PostgresTestcontainersConfiguration.class, HighestBidResolver.class})
+@Testcontainers(disabledWithoutDocker = true)
+class HighestBidResolverTest {
+
+    @Autowired
+    private HighestBidResolver highestBidResolver;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int sellerId;
+    private int firstBidderId;
+    private int secondBidderId;
+
+    @BeforeEach
+    void setUp() {
+        sellerId = insertUser("seller@example.com", "Seller");
+        firstBidderId = insertUser("first@example.com", "First Bidder");
+        secondBidderId = insertUser("second@example.com", "Second Bidder");
+    }
+
+    @Test
+    void soleAutoBidderLeadsWithTheirOwnBidOrTheCurrentPrice() {
+        int soleWithoutBid = insertProduct(120f);
+        insertConfig(soleWithoutBid, firstBidderId, 500f);
+
+        int soleWithBid = insertProduct(150f);
+        insertConfig(soleWithBid, secondBidderId, 500f);
+        insertBid(soleWithBid, secondBidderId, 150f);
+        insertBid(soleWithBid, firstBidderId, 140f);
+
+        int manualBids = insertProduct(200f);
+        insertBid(manualBids, firstBidderId, 180f);
+        insertBid(manualBids, secondBidderId, 200f);
+
+        Map<Integer, Bid> highestBids = resolve(List.of(soleWithoutBid, soleWithBid, manualBids));
+
+        assertThat(highestBids.get(soleWithoutBid).getId()).isNull();
+        assertThat(highestBids.get(soleWithoutBid).getBidder().getId()).isEqualTo(firstBidderId);
+        assertThat(highestBids.get(soleWithoutBid).getAmount()).isEqualTo(120f);
+        assertThat(highestBids.get(soleWithBid).getBidder().getId()).isEqualTo(secondBidderId);
+        assertThat(highestBids.get(manualBids).getAmount()).isEqualTo(200f);
+    }
+
+    @Test
+    void singleProductLookupMatchesTheListLookup() {
+        int product = insertProduct(120f);
+        insertConfig(product, firstBidderId, 500f);
+
+        Bid single = highestBidResolver.resolve(productRepository.findById(product).orElseThrow());
+
+        assertThat(single.getBidder().getId()).isEqualTo(firstBidderId);
+        assertThat(resolve(List.of(product)).get(product).getBidder().getId()).isEqualTo(firstBidderId);
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithThePageSize() {
+        long smallPage = countQueries(seedPage(3));
+        long largePage = countQueries(seedPage(30));
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isLessThanOrEqualTo(4);
+    }
+
+    /**
+     * Products cycling through the three cases: sole config without a bid, sole config with a bid,
+     * competing manual bids
+     */
+    private List<Integer> seedPage(int size) {
+        List<Integer> productIds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int product = insertProduct(100f + i);
+            switch (i % 3) {
+                case 0 -> insertConfig(product, firstBidderId, 1_000f);
+                case 1 -> {
+                    insertConfig(product, secondBidderId, 1_000f);
+                    insertBid(product, secondBidderId, 100f + i);
+                }
+                default -> {
+                    insertBid(product, firstBidderId, 90f + i);
+                    insertBid(product, secondBidderId, 100f + i);
+                }
+            }
+            productIds.add(product);
+        }
+        return productIds;
+    }
+
+    private long countQueries(List<Integer> productIds) {
+        entityManager.flush();
+        entityManager.clear();
+        List<Product> products = productRepository.findAllById(productIds);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<Integer, Bid> highestBids = highestBidResolver.resolve(products);
+        // Touch the bidders the way the mappers do
+        highestBids.values().forEach(bid -> bid.getBidder().getProfile().getFullName());
+
+        assertThat(highestBids).hasSize(productIds.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Map<Integer, Bid> resolve(List<Integer> productIds) {
+        entityManager.flush();
+        entityManager.clear();
+        return highestBidResolver.resolve(productRepository.findAllById(productIds));
+    }
+
+    private int insertUser(String email, String fullName) {
+        int id = ((Number) entityManager.createNativeQuery("""
+                INSERT INTO "user" (email, password_hash) VALUES (:email, 'x') RETURNING id
+                """)
+                .setParameter("email", email)
+                .getSingleResult()).intValue();
+        entityManager.createNativeQuery("INSERT INTO user_profile (user_id, full_name) VALUES (:id, :name)")
+                .setParameter("id", id)
+                .setParameter("name", fullName)
+                .executeUpdate();
+        return id;
+    }
+
+    private int insertProduct(float currentPrice) {
+        return ((Number) entityManager.createNativeQuery("""
+                INSERT INTO product (seller_id, title, status, start_price, current_price, start_time, end_time)
+                VALUES (:sellerId, 'Item', 'ACTIVE', 100, :currentPrice, NOW(), NOW() + INTERVAL '1 day')
+                RETURNING id
+                """)
+                .setParameter("sellerId", sellerId)
+                .setParameter("currentPrice", currentPrice)
+                .getSingleResult()).intValue();
+    }
+
+    private void insertConfig(int productId, int bidderId, float maxPrice) {
+        entityManager.createNativeQuery("""
+                INSERT INTO auto_bid_config (product_id, bidder_id, max_price) VALUES (:productId, :bidderId, :maxPrice)
+                """)
+                .setParameter("productId", productId)
+                .setParameter("bidderId", bidderId)
+                .setParameter("maxPrice", maxPrice)
+                .executeUpdate();
+    }
+
+    private void insertBid(int productId, int bidderId, float amount) {
+        entityManager.createNativeQuery("""
+                INSERT INTO bid (product_id, bidder_id, amount) VALUES (:productId, :bidderId, :amount)
+                """)
+                .setParameter("productId", productId)
+                .setParameter("bidderId", bidderId)
+                .setParameter("amount", amount)
+                .executeUpdate();
+    }
+}
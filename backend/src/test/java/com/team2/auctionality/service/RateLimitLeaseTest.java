@@ -0,0 +1,101 @@
+package com.team2.auctionality.service;
+
+import com.team2.auctionality.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Distributed mode of RateLimitService against an in-memory backend
+ */
+class RateLimitLeaseTest {
+
+    private final FakeBackend backend = new FakeBackend();
+
+    @Test
+    void spendsALeasedBatchLocally() {
+        RateLimitService rateLimitService = service(5000);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimitService.isAllowed("user:1", 100, 60)).isTrue();
+        }
+        assertThat(backend.requestedBatches).containsExactly(10);
+
+        assertThat(rateLimitService.isAllowed("user:1", 100, 60)).isTrue();
+        assertThat(backend.requestedBatches).containsExactly(10, 10);
+    }
+
+    @Test
+    void smallLimitsLeaseOneTokenAtATime() {
+        RateLimitService rateLimitService = service(5000);
+
+        rateLimitService.isAllowed("user:1", 5, 60);
+        rateLimitService.isAllowed("user:1", 5, 60);
+
+        assertThat(backend.requestedBatches).containsExactly(1, 1);
+    }
+
+    @Test
+    void waitsAnIntervalBeforeAskingAnEmptyBucketAgain() {
+        RateLimitService rateLimitService = service(5000);
+        backend.available = 0;
+
+        assertThat(rateLimitService.isAllowed("user:1", 100, 60)).isFalse();
+        assertThat(rateLimitService.isAllowed("user:1", 100, 60)).isFalse();
+
+        assertThat(backend.requestedBatches).hasSize(1);
+    }
+
+    @Test
+    void dropsUnspentTokensWhenTheLeaseExpires() throws InterruptedException {
+        RateLimitService rateLimitService = service(50);
+
+        rateLimitService.isAllowed("user:1", 100, 60);
+        assertThat(rateLimitService.getRemainingRequests("user:1", 100, 60)).isEqualTo(9);
+
+        Thread.sleep(100);
+
+        assertThat(rateLimitService.getRemainingRequests("user:1", 100, 60)).isZero();
+        rateLimitService.isAllowed("user:1", 100, 60);
+        assertThat(backend.requestedBatches).hasSize(2);
+    }
+
+    @Test
+    void limitsPerInstanceWhileTheBackendFails() {
+        RateLimitService rateLimitService = service(5000);
+        backend.failing = true;
+
+        assertThat(rateLimitService.isAllowed("user:1", 1, 60)).isTrue();
+        assertThat(rateLimitService.isAllowed("user:1", 1, 60)).isFalse();
+    }
+
+    private RateLimitService service(long leaseTtlMs) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDistributed().setEnabled(true);
+        properties.getDistributed().setLeaseBatch(10);
+        properties.getDistributed().setLeaseTtlMs(leaseTtlMs);
+        return new RateLimitService(properties, new SimpleMeterRegistry(), Optional.of(backend));
+    }
+
+    private static final class FakeBackend implements RateLimitBackend {
+        private final List<Integer> requestedBatches = new ArrayList<>();
+        private int available = Integer.MAX_VALUE;
+        private boolean failing;
+
+        @Override
+        public int lease(String key, int maxRequests, int windowSeconds, int batch) {
+            if (failing) {
+                throw new IllegalStateException("backend down");
+            }
+            requestedBatches.add(batch);
+            int granted = Math.min(batch, available);
+            available -= granted;
+            return granted;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.team2.auctionality.service;
+
+import com.team2.auctionality.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitServiceTest {
+
+    private final RateLimitService rateLimitService =
+            new RateLimitService(new RateLimitProperties(), new SimpleMeterRegistry(), Optional.empty());
+
+    @Test
+    void allowsABurstOfTheFullLimitThenRejects() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimitService.isAllowed("user:1", 3, 60)).isTrue();
+        }
+
+        assertThat(rateLimitService.isAllowed("user:1", 3, 60)).isFalse();
+        assertThat(rateLimitService.getRemainingRequests("user:1", 3, 60)).isZero();
+    }
+
+    @Test
+    void countsRemainingRequests() {
+        assertThat(rateLimitService.getRemainingRequests("user:1", 3, 60)).isEqualTo(3);
+
+        rateLimitService.isAllowed("user:1", 3, 60);
+
+        assertThat(rateLimitService.getRemainingRequests("user:1", 3, 60)).isEqualTo(2);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+        assertThat(rateLimitService.isAllowed("user:1", 2, 1)).isTrue();
+        assertThat(rateLimitService.isAllowed("user:1", 2, 1)).isTrue();
+        assertThat(rateLimitService.isAllowed("user:1", 2, 1)).isFalse();
+
+        // One request per 500 ms
+        Thread.sleep(600);
+
+        assertThat(rateLimitService.isAllowed("user:1", 2, 1)).isTrue();
+        assertThat(rateLimitService.isAllowed("user:1", 2, 1)).isFalse();
+    }
+
+    @Test
+    void limitsIdentifiersIndependently() {
+        rateLimitService.isAllowed("user:1", 1, 60);
+
+        assertThat(rateLimitService.isAllowed("user:1", 1, 60)).isFalse();
+        assertThat(rateLimitService.isAllowed("ip:10.0.0.1", 1, 60)).isTrue();
+    }
+
+    @Test
+    void limitsOfOneIdentifierDoNotShareABucket() {
+        // Writes (10 per minute) exhausted, reads (200 per minute) still get their own burst
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimitService.isAllowed("user:1", 10, 60)).isTrue();
+        }
+        assertThat(rateLimitService.isAllowed("user:1", 10, 60)).isFalse();
+
+        assertThat(rateLimitService.getRemainingRequests("user:1", 200, 60)).isEqualTo(200);
+        for (int i = 0; i < 200; i++) {
+            assertThat(rateLimitService.isAllowed("user:1", 200, 60)).isTrue();
+        }
+        assertThat(rateLimitService.isAllowed("user:1", 10, 60)).isFalse();
+    }
+
+    @Test
+    void clearResetsTheIdentifier() {
+        rateLimitService.isAllowed("user:1", 1, 60);
+        rateLimitService.clear("user:1");
+
+        assertThat(rateLimitService.isAllowed("user:1", 1, 60)).isTrue();
+    }
+}
@@ -0,0 +1,101 @@
+package com.team2.auctionality.sse;
+
+import com.team2.auctionality.config.SseProperties;
+import com.team2.auctionality.dto.ProductPriceUpdatedEvent;
+import com.team2.auctionality.service.TopProductsReadModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PriceUpdateCoalescerTest {
+
+    private final SseEmitterManager emitterManager = mock(SseEmitterManager.class);
+    private final TopProductsReadModel topProductsReadModel = mock(TopProductsReadModel.class);
+    private final SseProperties properties = new SseProperties();
+    private PriceUpdateCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.destroy();
+    }
+
+    @Test
+    void mergesUpdatesWithinTheWindowKeepingTheFirstPreviousPrice() {
+        start(60_000);
+
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 110f, 100f));
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 120f, 110f));
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 130f, 120f));
+        verify(emitterManager, never()).sendProductPriceUpdate(anyInt(), anyFloat(), anyFloat());
+
+        coalescer.flush(1);
+
+        verify(emitterManager).sendProductPriceUpdate(1, 130f, 100f);
+        verify(topProductsReadModel).onPriceUpdated(1, 130f);
+    }
+
+    @Test
+    void publishesWhenTheWindowCloses() {
+        start(50);
+
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 110f, 100f));
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 120f, 110f));
+
+        verify(emitterManager, timeout(2_000)).sendProductPriceUpdate(1, 120f, 100f);
+    }
+
+    @Test
+    void flushWithoutAPendingUpdateSendsNothing() {
+        start(60_000);
+
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 110f, 100f));
+        coalescer.flush(1);
+        coalescer.flush(1);
+        coalescer.flush(2);
+
+        verify(emitterManager, times(1)).sendProductPriceUpdate(any(), any(), any());
+    }
+
+    @Test
+    void windowsArePerProductAndReopenAfterAFlush() {
+        start(60_000);
+
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 110f, 100f));
+        coalescer.submit(new ProductPriceUpdatedEvent(2, 210f, 200f));
+        coalescer.flush(1);
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 120f, 110f));
+        coalescer.flush(1);
+        coalescer.flush(2);
+
+        verify(emitterManager).sendProductPriceUpdate(1, 110f, 100f);
+        verify(emitterManager).sendProductPriceUpdate(1, 120f, 110f);
+        verify(emitterManager).sendProductPriceUpdate(2, 210f, 200f);
+    }
+
+    @Test
+    void forwardsEveryUpdateWhenCoalescingIsOff() {
+        start(0);
+
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 110f, 100f));
+        coalescer.submit(new ProductPriceUpdatedEvent(1, 120f, 110f));
+
+        verify(emitterManager).sendProductPriceUpdate(1, 110f, 100f);
+        verify(emitterManager).sendProductPriceUpdate(1, 120f, 110f);
+    }
+
+    private void start(long windowMs) {
+        properties.setPriceCoalesceWindowMs(windowMs);
+        coalescer = new PriceUpdateCoalescer(emitterManager, topProductsReadModel, properties,
+                new SseMetrics(new SimpleMeterRegistry()));
+        coalescer.afterPropertiesSet();
+    }
+}
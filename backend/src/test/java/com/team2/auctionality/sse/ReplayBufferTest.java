@@ -0,0 +1,61 @@
+package com.team2.auctionality.sse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayBufferTest {
+
+    // DataWithMediaType has identity equality, so frames are compared as the same instances
+    private final Set<ResponseBodyEmitter.DataWithMediaType> first = frame("a");
+    private final Set<ResponseBodyEmitter.DataWithMediaType> second = frame("b");
+    private final Set<ResponseBodyEmitter.DataWithMediaType> third = frame("c");
+
+    @Test
+    void replaysOnlyFramesAfterTheCounter() {
+        ReplayBuffer buffer = new ReplayBuffer(4, 0);
+        buffer.add(1, first);
+        buffer.add(2, second);
+        buffer.add(3, third);
+
+        assertThat(buffer.since(1)).containsExactly(second, third);
+        assertThat(buffer.since(3)).isEmpty();
+        assertThat(buffer.lastCounter()).isEqualTo(3);
+    }
+
+    @Test
+    void asksForASnapshotOnceTheCounterRolledOut() {
+        ReplayBuffer buffer = new ReplayBuffer(2, 0);
+        buffer.add(1, first);
+        buffer.add(2, second);
+        buffer.add(3, third);
+
+        assertThat(buffer.since(0)).isNull();
+        assertThat(buffer.since(1)).containsExactly(second, third);
+    }
+
+    @Test
+    void asksForASnapshotForACounterItNeverIssued() {
+        ReplayBuffer buffer = new ReplayBuffer(4, 0);
+        buffer.add(1, first);
+
+        assertThat(buffer.since(2)).isNull();
+    }
+
+    @Test
+    void emptyBufferReplaysNothingFromItsFloor() {
+        ReplayBuffer buffer = new ReplayBuffer(4, 5);
+
+        assertThat(buffer.since(5)).isEmpty();
+        assertThat(buffer.since(4)).isNull();
+        assertThat(buffer.lastCounter()).isEqualTo(5);
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> frame(String data) {
+        return Set.of(new ResponseBodyEmitter.DataWithMediaType(data, MediaType.TEXT_PLAIN));
+    }
+}
@@ -37,6 +37,19 @@ export interface BidHistoryDto {
   createdAt: string;
 }
 
+export interface BidHistorySnapshot {
+  productId: number;
+  sequence: number;
+  bids: BidHistoryDto[];
+}
+
+export interface BidHistoryEvent {
+  type: "APPENDED" | "RESET";
+  productId: number;
+  sequence: number;
+  bid: BidHistoryDto | null;
+}
+
 export interface AutoBidConfig {
   id: number;
   productId: number;
@@ -59,6 +72,13 @@ export const bidService = {
     return response.data;
   },
 
+  getBidHistorySnapshot: async (productId: number): Promise<BidHistorySnapshot> => {
+    const response = await axiosInstance.get<BidHistorySnapshot>(
+      `/bids/products/${productId}/history/snapshot`
+    );
+    return response.data;
+  },
+
   placeBid: async (productId: number, amount: number): Promise<{ autoBidConfig: AutoBidConfig | null }> => {
     const response = await axiosInstance.post<ApiResponse<AutoBidConfig> | ErrorResponse>(
       `/bids/products/${productId}`,
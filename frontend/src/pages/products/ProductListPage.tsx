@@ -150,6 +150,7 @@ export default function ProductListPage() {
                 className="px-4 py-2 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-primary"
               >
                 <option value="endTimeDesc">Ending Soon</option>
+                <option value="relevance">Best Match</option>
                 <option value="endTimeAsc">Ending Latest</option>
                 <option value="priceAsc">Price: Low to High</option>
                 <option value="priceDesc">Price: High to Low</option>
@@ -3,7 +3,8 @@
  * Handles SSE subscriptions for real-time updates
  */
 
-import type { BidHistoryDto } from "../features/bid/bidService";
+import { bidService } from "../features/bid/bidService";
+import type { BidHistoryDto, BidHistoryEvent } from "../features/bid/bidService";
 
 const API_URL = import.meta.env.VITE_API_URL || "http://localhost:8081";
 
@@ -39,6 +40,12 @@ export const subscribeToProductPrice = (
   return eventSource;
 };
 
+/**
+ * Keeps a product's bid history in sync from "bid-appended" deltas.
+ * The snapshot is fetched once after subscribing and again only when a sequence gap
+ * or a "bid-history-reset" event shows the local copy can't be patched.
+ * Reconnects resume from Last-Event-ID, which the browser sends automatically.
+ */
 export const subscribeToBidHistory = (
   productId: number,
   onBidHistoryUpdate: (histories: BidHistoryDto[]) => void
@@ -52,14 +59,86 @@ export const subscribeToBidHistory = (
 
   const eventSource = new EventSource(url);
 
-  eventSource.addEventListener("bid-history", (event: MessageEvent) => {
+  let histories: BidHistoryDto[] = [];
+  let sequence = -1; // -1 until the first snapshot arrives
+  let loading = false;
+  let pending: BidHistoryEvent[] = []; // deltas received while a snapshot is loading
+  let resetWhileLoading = false; // the loading snapshot may predate a reset
+  let lastEventId = "";
+
+  const apply = (event: BidHistoryEvent): boolean => {
+    if (event.sequence <= sequence) {
+      return true; // already part of the snapshot
+    }
+    if (!event.bid || event.sequence !== sequence + 1) {
+      return false;
+    }
+    histories = [event.bid, ...histories];
+    sequence = event.sequence;
+    return true;
+  };
+
+  const loadSnapshot = async () => {
+    if (loading) return;
+    loading = true;
+    resetWhileLoading = false;
     try {
-      const histories: BidHistoryDto[] = JSON.parse(event.data);
+      const snapshot = await bidService.getBidHistorySnapshot(productId);
+      histories = snapshot.bids;
+      sequence = snapshot.sequence;
+      const buffered = pending;
+      pending = [];
+      loading = false;
+      // A reset doesn't move the sequence (rejections remove bids), so the snapshot
+      // can't tell whether it already includes one that arrived while it was loading
+      if (resetWhileLoading || !buffered.every(apply)) {
+        // Lost an event between the snapshot and the stream, or the history changed meanwhile: start over
+        loadSnapshot();
+        return;
+      }
       onBidHistoryUpdate(histories);
     } catch (error) {
-      console.error("Error parsing bid history:", error);
+      loading = false;
+      console.error("Error loading bid history snapshot:", error);
     }
-  });
+  };
+
+  const onEvent = (event: MessageEvent) => {
+    if (event.lastEventId) {
+      lastEventId = event.lastEventId;
+    }
+    try {
+      const data: BidHistoryEvent = JSON.parse(event.data);
+      if (data.type === "RESET") {
+        // History changed in a way a delta can't express. Not buffered: the snapshot
+        // loaded for it already reflects the change
+        if (loading) {
+          resetWhileLoading = true;
+        } else {
+          loadSnapshot();
+        }
+      } else if (loading) {
+        pending.push(data);
+      } else if (apply(data)) {
+        onBidHistoryUpdate(histories);
+      } else {
+        pending.push(data);
+        loadSnapshot();
+      }
+    } catch (error) {
+      console.error("Error parsing bid history event:", error);
+    }
+  };
+
+  eventSource.addEventListener("bid-appended", onEvent);
+  eventSource.addEventListener("bid-history-reset", onEvent);
+  eventSource.onopen = () => {
+    // On reconnect the browser sends Last-Event-ID and the server replays what was missed
+    // (or sends a reset), so the snapshot is only needed when no event id has been seen yet
+    if (sequence < 0 || !lastEventId) {
+      loadSnapshot();
+    }
+  };
 
   eventSource.onerror = (error) => {
     console.error("SSE error for bid history:", error);
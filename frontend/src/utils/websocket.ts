@@ -213,7 +213,7 @@ export const subscribeToThread = (
   }
 
   const subscription = stompClient.subscribe(
-    `/topic/chat/${orderId}`, // Use orderId instead of threadId to match backend
+    `/topic/chat.${orderId}`, // Use orderId instead of threadId to match backend
     (message: IMessage) => {
       try {
         const chatMessage: ChatMessage = JSON.parse(message.body);
@@ -287,7 +287,7 @@ export const subscribeToAuctionEnd = (
   }
 
   const subscription = stompClient.subscribe(
-    `/topic/auction-end/${productId}`,
+    `/topic/auction-end.${productId}`,
     (message: IMessage) => {
       try {
         const notification: AuctionEndNotification = JSON.parse(message.body);